@@ -0,0 +1,13 @@
+package at.fhtw.society.backend.ai;
+
+/**
+ * Priority classes of AI requests, highest first. The scheduler always serves a higher class before a lower one.
+ */
+public enum AiPriority {
+    /** Players are waiting for the result (game opening, dilemma, outcome). */
+    INTERACTIVE,
+    /** Pre-generated branches that only save latency if they finish in time. */
+    SPECULATIVE,
+    /** Nobody waits right now (opening pool refill, final summaries). */
+    BACKGROUND
+}
@@ -0,0 +1,222 @@
+package at.fhtw.society.backend.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Guards AI calls so a slow or failing provider costs bounded time:
+ * - timeout per step (deepinfra.resilience.timeouts), measured from the call including the scheduler queue
+ * - hedging: if a call is slower than the step's recent p95, a second request is sent and the first reply wins
+ * - circuit breaker: after consecutive failures all calls fail fast with AiUnavailableException for a while,
+ *   then a single trial call decides whether the circuit closes again
+ * Callers provide their fallback (see GameService) for failed calls.
+ * Cancelled calls (e.g. discarded speculative branches) say nothing about the provider: they neither count
+ * as breaker failures nor as failed calls.
+ * Metrics:
+ * - ai.calls (counter, tags step and result=success|failure|cancelled|rejected)
+ * - ai.calls.hedged (counter, tag step)
+ * - ai.circuit.open (gauge: 0 closed, 1 open or half-open)
+ */
+@Slf4j
+@Component
+public class AiResilience {
+
+    private static final int LATENCY_WINDOW = 100;
+
+    private final DeepinfraProperties.Resilience props;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final CircuitBreaker breaker = new CircuitBreaker();
+
+    private final ScheduledExecutorService hedgeTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ai-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AiResilience(DeepinfraProperties deepinfraProperties, MeterRegistry meterRegistry) {
+        this.props = deepinfraProperties.getResilience();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ai.circuit.open", breaker, b -> b.isOpen() ? 1 : 0).register(meterRegistry);
+    }
+
+    /**
+     * Runs an AI call with the step's timeout, hedging and the circuit breaker.
+     * @param step - logical step, e.g. "dilemma" or "outcome" (selects timeout and latency statistics)
+     * @param request - starts the call
+     * @param hedge - starts the second (hedged) call, or null if the call must not be hedged
+     * @return the first successful reply; fails with AiUnavailableException if the circuit is open,
+     *         with a TimeoutException after the step's timeout, or with the call's error
+     */
+    public CompletableFuture<List<Message>> call(String step,
+                                                 Supplier<CompletableFuture<List<Message>>> request,
+                                                 Supplier<CompletableFuture<List<Message>>> hedge) {
+        if (!breaker.tryAcquire(props.getBreakerOpenDuration())) {
+            count(step, "rejected");
+            return CompletableFuture.failedFuture(new AiUnavailableException(step));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<List<Message>> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        attempt(request, result, running);
+
+        long hedgeDelayMs = hedge != null && props.isHedgingEnabled() ? hedgeDelayMs(step) : -1;
+        if (hedgeDelayMs > 0) {
+            ScheduledFuture<?> hedged = hedgeTimer.schedule(() -> {
+                if (result.isDone()) return;
+                // counted before it starts, so a failing first attempt does not fail the result while the hedge runs
+                running.incrementAndGet();
+                Counter.builder("ai.calls.hedged").tag("step", step).register(meterRegistry).increment();
+                log.debug("Hedging AI call for step {} after {} ms", step, hedgeDelayMs);
+                attempt(hedge, result, running);
+            }, hedgeDelayMs, TimeUnit.MILLISECONDS);
+            result.whenComplete((value, ex) -> hedged.cancel(false));
+        }
+
+        result.orTimeout(timeout(step).toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((value, ex) -> {
+            if (ex == null) {
+                breaker.onSuccess();
+                latencies.computeIfAbsent(step, s -> new LatencyWindow()).record(System.nanoTime() - start);
+                count(step, "success");
+            } else if (isCancellation(ex)) {
+                breaker.onCancelled();
+                count(step, "cancelled");
+            } else {
+                if (breaker.onFailure(props.getBreakerFailureThreshold())) {
+                    log.warn("AI circuit opened, calls fail fast for {}", props.getBreakerOpenDuration());
+                }
+                count(step, "failure");
+                log.warn("AI call for step {} failed: {}", step, ex instanceof TimeoutException ? "timeout" : ex.toString());
+            }
+        });
+        return result;
+    }
+
+    private void attempt(Supplier<CompletableFuture<List<Message>>> request,
+                         CompletableFuture<List<Message>> result,
+                         AtomicInteger running) {
+        CompletableFuture<List<Message>> call;
+        try {
+            call = request.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, ex) -> {
+            if (ex == null) {
+                result.complete(value);
+            } else if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private static boolean isCancellation(Throwable ex) {
+        return ex instanceof CancellationException
+                || (ex instanceof CompletionException && ex.getCause() instanceof CancellationException);
+    }
+
+    private Duration timeout(String step) {
+        return props.getTimeouts().getOrDefault(step, props.getDefaultTimeout());
+    }
+
+    /** p95 of the step's recent successful calls, at least hedgeMinDelay; -1 while there are too few samples. */
+    private long hedgeDelayMs(String step) {
+        LatencyWindow window = latencies.get(step);
+        long p95Nanos = window == null ? -1 : window.p95(props.getHedgeMinSamples());
+        if (p95Nanos < 0) return -1;
+        return Math.max(props.getHedgeMinDelay().toMillis(), TimeUnit.NANOSECONDS.toMillis(p95Nanos));
+    }
+
+    private void count(String step, String result) {
+        Counter.builder("ai.calls").tag("step", step).tag("result", result).register(meterRegistry).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeTimer.shutdownNow();
+    }
+
+    private static final class LatencyWindow {
+        private final long[] samples = new long[LATENCY_WINDOW];
+        private int count;
+        private int next;
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized long p95(int minSamples) {
+            if (count < minSamples) return -1;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+    }
+
+    private static final class CircuitBreaker {
+        private enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+
+        /** False while open; after the open duration a single trial call is allowed (half-open). */
+        synchronized boolean tryAcquire(Duration openDuration) {
+            if (state == State.CLOSED) return true;
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openDuration.toNanos()) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void onSuccess() {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+
+        /** A cancelled trial call decides nothing: the next call becomes the trial call instead. */
+        synchronized void onCancelled() {
+            if (state == State.HALF_OPEN) state = State.OPEN;
+        }
+
+        /** Returns true if this failure opened the circuit. */
+        synchronized boolean onFailure(int threshold) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= threshold)) {
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isOpen() {
+            return state != State.CLOSED;
+        }
+    }
+}
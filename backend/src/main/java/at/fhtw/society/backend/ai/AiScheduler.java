@@ -0,0 +1,271 @@
+package at.fhtw.society.backend.ai;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for all LLM requests:
+ * - at most max-in-flight requests run at the same time
+ * - a token budget per minute (continuously refilled) limits the estimated tokens sent and generated
+ * - waiting requests are served by priority class (INTERACTIVE, SPECULATIVE, BACKGROUND), and within a class
+ *   round-robin over games, so one game with many requests cannot starve the others
+ * - aging: a request that has waited longer than deepinfra.scheduler.aging-ms is served before newer requests
+ *   of higher classes, so steady speculative load cannot starve background work (final summaries, pool refills)
+ * Metrics:
+ * - ai.scheduler.queue.wait (timer, tag priority): time from submit until the request is sent
+ * - ai.scheduler.queued (gauge, tag priority), ai.scheduler.inflight (gauge)
+ */
+@Slf4j
+@Component
+public class AiScheduler {
+
+    // max_tokens of every completion request (see DeepinfraService)
+    private static final int COMPLETION_TOKENS = 512;
+    // requests without a game (e.g. pool refill) share one fairness slot
+    private static final Object NO_GAME = new Object();
+
+    private final int maxInFlight;
+    private final double tokensPerMinute;
+    private final int promptTokenCap;
+    private final long agingNanos;
+
+    private final Map<AiPriority, ClassQueue> queues = new EnumMap<>(AiPriority.class);
+    private final Map<AiPriority, Timer> waitTimers = new EnumMap<>(AiPriority.class);
+    private int inFlight;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private boolean retryScheduled;
+
+    // only used to retry once the token budget has refilled
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ai-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AiScheduler(MeterRegistry meterRegistry,
+                       @Value("${deepinfra.scheduler.max-in-flight:8}") int maxInFlight,
+                       @Value("${deepinfra.scheduler.tokens-per-minute:200000}") double tokensPerMinute,
+                       @Value("${deepinfra.context.token-budget:3000}") int promptTokenCap,
+                       @Value("${deepinfra.scheduler.aging-ms:5000}") long agingMs) {
+        this.maxInFlight = maxInFlight;
+        this.tokensPerMinute = tokensPerMinute;
+        this.promptTokenCap = promptTokenCap;
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMs);
+        this.tokens = tokensPerMinute;
+
+        for (AiPriority priority : AiPriority.values()) {
+            ClassQueue queue = new ClassQueue();
+            queues.put(priority, queue);
+            waitTimers.put(priority, Timer.builder("ai.scheduler.queue.wait")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+            Gauge.builder("ai.scheduler.queued", this, s -> s.queuedCount(priority))
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ai.scheduler.inflight", this, AiScheduler::inFlightCount).register(meterRegistry);
+    }
+
+    /**
+     * Queues an AI request; it is started once a slot and enough token budget are free.
+     * Cancelling the returned future before the request was started removes it from the queue.
+     * @param gameId - game the request belongs to (fairness key), or null
+     * @param priority - priority class of the request
+     * @param history - messages that will be sent (used to estimate the token cost)
+     * @param request - starts the actual call
+     */
+    public <T> CompletableFuture<T> submit(UUID gameId, AiPriority priority, List<Message> history,
+                                           Supplier<CompletableFuture<T>> request) {
+        int estimatedTokens = Math.min(PromptContextManager.estimateTokens(history), promptTokenCap) + COMPLETION_TOKENS;
+        Task<T> task = new Task<>(request, estimatedTokens, priority, System.nanoTime());
+        synchronized (this) {
+            queues.get(priority).add(gameId != null ? gameId : NO_GAME, task);
+        }
+        dispatch();
+        return task.result;
+    }
+
+    private void dispatch() {
+        while (true) {
+            Task<?> next;
+            synchronized (this) {
+                if (inFlight >= maxInFlight) return;
+                AiPriority served = nextClass();
+                if (served == null) return;
+                next = queues.get(served).peek();
+
+                refill();
+                // a single request larger than the whole budget may run once the budget is full
+                double cost = Math.min(next.estimatedTokens, tokensPerMinute);
+                if (tokens < cost) {
+                    scheduleRetry(cost - tokens);
+                    return;
+                }
+                queues.get(served).poll();
+                tokens -= cost;
+                inFlight++;
+            }
+            start(next);
+        }
+    }
+
+    private <T> void start(Task<T> task) {
+        waitTimers.get(task.priority).record(System.nanoTime() - task.submittedAt, TimeUnit.NANOSECONDS);
+
+        CompletableFuture<T> call;
+        try {
+            call = task.request.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, ex) -> {
+            synchronized (this) {
+                inFlight--;
+            }
+            if (ex != null) {
+                task.result.completeExceptionally(ex);
+            } else {
+                task.result.complete(value);
+            }
+            dispatch();
+        });
+    }
+
+    /**
+     * Class whose next task is served: the highest class with a waiting task, unless a lower class has a task
+     * that has waited longer than the aging threshold (then the class with the longest waiting such task).
+     * Null if nothing is waiting.
+     */
+    private AiPriority nextClass() {
+        long now = System.nanoTime();
+        AiPriority served = null;
+        Task<?> servedTask = null;
+        for (AiPriority priority : AiPriority.values()) {
+            Task<?> task = queues.get(priority).peek();
+            if (task == null) continue;
+            if (servedTask == null) {
+                served = priority;
+                servedTask = task;
+            } else if (now - task.submittedAt > agingNanos && task.submittedAt < servedTask.submittedAt) {
+                served = priority;
+                servedTask = task;
+            }
+        }
+        return served;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(tokensPerMinute, tokens + (now - refilledAt) / 60_000_000_000.0 * tokensPerMinute);
+        refilledAt = now;
+    }
+
+    private void scheduleRetry(double missingTokens) {
+        if (retryScheduled) return;
+        retryScheduled = true;
+        long delayMs = Math.max(10, (long) Math.ceil(missingTokens / tokensPerMinute * 60_000));
+        timer.schedule(() -> {
+            synchronized (this) {
+                retryScheduled = false;
+            }
+            dispatch();
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized int queuedCount(AiPriority priority) {
+        return queues.get(priority).size;
+    }
+
+    private synchronized int inFlightCount() {
+        return inFlight;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Waiting tasks of one priority class: one FIFO per game, games served round-robin.
+     * Cancelled tasks are dropped when they reach the head of their game's queue. Guarded by the scheduler's lock.
+     */
+    private static final class ClassQueue {
+        private final Map<Object, ArrayDeque<Task<?>>> byGame = new HashMap<>();
+        private final ArrayDeque<Object> rotation = new ArrayDeque<>();
+        private int size;
+
+        void add(Object game, Task<?> task) {
+            ArrayDeque<Task<?>> tasks = byGame.get(game);
+            if (tasks == null) {
+                tasks = new ArrayDeque<>();
+                byGame.put(game, tasks);
+                rotation.addLast(game);
+            }
+            tasks.addLast(task);
+            size++;
+        }
+
+        Task<?> peek() {
+            while (!rotation.isEmpty()) {
+                Object game = rotation.peekFirst();
+                ArrayDeque<Task<?>> tasks = byGame.get(game);
+                Task<?> head = tasks.peekFirst();
+                if (head != null && !head.result.isDone()) return head;
+                if (head != null) {
+                    tasks.pollFirst();
+                    size--;
+                }
+                if (tasks.isEmpty()) {
+                    byGame.remove(game);
+                    rotation.pollFirst();
+                }
+            }
+            return null;
+        }
+
+        Task<?> poll() {
+            Task<?> head = peek();
+            if (head == null) return null;
+
+            Object game = rotation.pollFirst();
+            ArrayDeque<Task<?>> tasks = byGame.get(game);
+            tasks.pollFirst();
+            size--;
+            // the game goes to the back of the line if it has more requests
+            if (tasks.isEmpty()) {
+                byGame.remove(game);
+            } else {
+                rotation.addLast(game);
+            }
+            return head;
+        }
+    }
+
+    private record Task<T>(Supplier<CompletableFuture<T>> request,
+                           int estimatedTokens,
+                           AiPriority priority,
+                           long submittedAt,
+                           CompletableFuture<T> result) {
+        Task(Supplier<CompletableFuture<T>> request, int estimatedTokens, AiPriority priority, long submittedAt) {
+            this(request, estimatedTokens, priority, submittedAt, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package at.fhtw.society.backend.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical AI requests: while a request for (game, step, history) is in flight, further callers for
+ * the same key get the same result instead of a second LLM call (concurrent last votes, repeated /outcome
+ * requests, double clicks on /rounds/new). The step names the logical request, e.g. "intro", "dilemma:3",
+ * "outcome:3", "final". The history is part of the key, so two requests of the same step built from different
+ * conversations (e.g. after a vote changed the prompt) are never merged. Nothing is cached once the request
+ * has completed.
+ * Metrics: ai.singleflight.calls (counter, result=executed|deduplicated), ai.singleflight.inflight (gauge)
+ */
+@Component
+public class AiSingleFlight {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<List<Message>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter deduplicated;
+
+    public AiSingleFlight(MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("ai.singleflight.calls").tag("result", "executed").register(meterRegistry);
+        this.deduplicated = Counter.builder("ai.singleflight.calls").tag("result", "deduplicated").register(meterRegistry);
+        Gauge.builder("ai.singleflight.inflight", inFlight, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Runs the request unless one for the same game, step and history is already in flight, in which case its
+     * result is shared. Every caller gets its own copy of the resulting conversation list.
+     * @param gameId - ID of the game
+     * @param step - logical step of the request (including the round number where it matters)
+     * @param history - messages sent to the AI
+     * @param request - starts the AI call
+     */
+    public CompletableFuture<List<Message>> call(UUID gameId, String step, List<Message> history,
+                                                 Supplier<CompletableFuture<List<Message>>> request) {
+        Key key = new Key(gameId, step, contents(history));
+        CompletableFuture<List<Message>> created = new CompletableFuture<>();
+        CompletableFuture<List<Message>> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            deduplicated.increment();
+            return running.thenApply(ArrayList::new);
+        }
+
+        executed.increment();
+        CompletableFuture<List<Message>> call;
+        try {
+            call = request.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((result, ex) -> {
+            inFlight.remove(key, created);
+            if (ex != null) {
+                created.completeExceptionally(ex);
+            } else {
+                created.complete(result);
+            }
+        });
+        return created.thenApply(ArrayList::new);
+    }
+
+    // role and content of every message; references the existing strings, so building it copies no text
+    private static List<String> contents(List<Message> history) {
+        List<String> contents = new ArrayList<>(history.size() * 2);
+        for (Message message : history) {
+            contents.add(message.getRole());
+            contents.add(message.getContent());
+        }
+        return contents;
+    }
+
+    private record Key(UUID gameId, String step, List<String> history) {}
+}
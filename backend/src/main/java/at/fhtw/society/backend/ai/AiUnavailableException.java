@@ -0,0 +1,14 @@
+package at.fhtw.society.backend.ai;
+
+import at.fhtw.society.backend.common.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class AiUnavailableException extends ApiException {
+
+    private static final String TYPE_URI = "https://example.com/probs/ai-unavailable";
+    private static final String TITLE = "AI Unavailable";
+
+    public AiUnavailableException(String step) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, TYPE_URI, TITLE, "The AI narrator is currently unavailable (" + step + "), please try again shortly");
+    }
+}
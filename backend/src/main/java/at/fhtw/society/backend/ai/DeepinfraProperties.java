@@ -5,6 +5,10 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Validated
 @ConfigurationProperties(prefix = "deepinfra")
 @Setter
@@ -13,4 +17,31 @@ public class DeepinfraProperties {
     private String apiKey;
     private String model;
     private String url;
+
+    /** Use the SSE endpoint and forward partial replies while the model is still generating. */
+    private boolean stream = true;
+
+    /** Timeouts, hedging and circuit breaker around the AI calls (see AiResilience). */
+    private Resilience resilience = new Resilience();
+
+    @Setter
+    @Getter
+    public static class Resilience {
+        /** Timeout per logical step (intro, dilemma, outcome, final, ...), including the wait in the AI scheduler. */
+        private Map<String, Duration> timeouts = new HashMap<>();
+        /** Timeout of steps without an entry in timeouts. */
+        private Duration defaultTimeout = Duration.ofSeconds(60);
+
+        /** Send a second request when the first one is slower than the step's recent p95 latency. */
+        private boolean hedgingEnabled = true;
+        /** Latency samples a step needs before it is hedged. */
+        private int hedgeMinSamples = 20;
+        /** Never hedge earlier than this. */
+        private Duration hedgeMinDelay = Duration.ofSeconds(2);
+
+        /** Consecutive failed calls that open the circuit. */
+        private int breakerFailureThreshold = 5;
+        /** How long an open circuit rejects calls before one trial call is let through. */
+        private Duration breakerOpenDuration = Duration.ofSeconds(30);
+    }
 }
@@ -1,20 +1,34 @@
 package at.fhtw.society.backend.ai;
 
 import at.fhtw.society.backend.game.entity.Game;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+@Slf4j
 @Service
 public class DeepinfraService {
 
+    private static final String STREAM_DONE = "[DONE]";
+    private static final Duration CALL_TIMEOUT = Duration.ofSeconds(60);
+
     private final WebClient http;
     private final String model;
+    private final boolean streamEnabled;
+    private final ObjectMapper objectMapper;
+    private final PromptContextManager promptContextManager;
 
-    public DeepinfraService(DeepinfraProperties props) {
+    public DeepinfraService(DeepinfraProperties props, ObjectMapper objectMapper, PromptContextManager promptContextManager) {
         this.http = WebClient.builder()
                 .baseUrl(Objects.requireNonNull(props.getUrl(), "API url is required"))
                 .defaultHeader("Authorization", "Bearer " + Objects.requireNonNull(props.getApiKey(), "API key is required"))
@@ -22,6 +36,13 @@ public class DeepinfraService {
                 .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
                 .build();
         this.model = Objects.requireNonNull(props.getModel(), "API model definition is required");
+        this.streamEnabled = props.isStream();
+        this.objectMapper = objectMapper;
+        this.promptContextManager = promptContextManager;
+    }
+
+    public boolean isStreamEnabled() {
+        return streamEnabled;
     }
 
     /** Start a conversation with a system prompt and return the whole conversation (system + assistant). */
@@ -31,6 +52,13 @@ public class DeepinfraService {
         return chatReturnConversation(this.model, history, 0.7, 512);
     }
 
+    /** Non-blocking variant of {@link #initConversation(String)}. */
+    public CompletableFuture<List<Message>> initConversationAsync(String systemContext) {
+        List<Message> history = new ArrayList<>();
+        history.add(new Message("system", systemContext));
+        return completeConversation(this.model, history, 0.7, 512).toFuture();
+    }
+
     /** Convenience: start a convo with a single user message and get back the conversation (user + assistant). */
     public List<Message> chatReturnConversation(String userMessage) {
         List<Message> history = new ArrayList<>();
@@ -39,47 +67,130 @@ public class DeepinfraService {
     }
 
     /** Core: send history, append assistant reply, and return the UPDATED conversation list. */
-    @SuppressWarnings("unchecked")
     public List<Message> chatReturnConversation(String model,
                                                 List<Message> history,
                                                 double temperature,
                                                 int maxTokens) {
+        List<Message> updated = completeConversation(model, history, temperature, maxTokens).block();
+        if (updated == null) {
+            throw new IllegalStateException("DeepInfra call failed: null body");
+        }
+        return updated;
+    }
+
+    /**
+     * Non-blocking core: emits the UPDATED conversation (history + assistant reply).
+     * No thread is parked while the request is in flight; callers continue on the HTTP client's thread.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<List<Message>> completeConversation(String model,
+                                                    List<Message> history,
+                                                    double temperature,
+                                                    int maxTokens) {
+        List<Message> snapshot = new ArrayList<>(history);
 
         Map<String, Object> req = Map.of(
                 "model", model,
-                "messages", history,    // uses your Lombok POJO (role/content getters)
+                // uses your Lombok POJO (role/content getters); only a bounded window of the history is sent
+                "messages", promptContextManager.window(snapshot),
                 "temperature", temperature,
                 "max_tokens", maxTokens,
                 "stream", false
         );
 
-        Map<String, Object> body = (Map<String, Object>) http.post()
+        return http.post()
                 .uri("/chat/completions")
                 .bodyValue(req)
                 .retrieve()
                 .bodyToMono(Map.class)
-                .block(Duration.ofSeconds(60));
+                .timeout(CALL_TIMEOUT)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("DeepInfra call failed: null body")))
+                .map(body -> {
+                    List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
+                    if (choices == null || choices.isEmpty()) {
+                        throw new IllegalStateException("DeepInfra call failed: no choices in response");
+                    }
+
+                    Map<String, Object> msgMap = (Map<String, Object>) choices.get(0).get("message");
+                    if (msgMap == null) {
+                        throw new IllegalStateException("DeepInfra call failed: missing message object");
+                    }
+
+                    String role = String.valueOf(msgMap.getOrDefault("role", "assistant"));
+                    String content = String.valueOf(msgMap.getOrDefault("content", ""));
+
+                    List<Message> updated = new ArrayList<>(snapshot);
+                    updated.add(new Message(role, content));
+                    return updated;
+                });
+    }
 
-        if (body == null) {
-            throw new IllegalStateException("DeepInfra call failed: null body");
-        }
+    /* ===========================
+       Streaming (SSE) completions
+       =========================== */
 
-        List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
-        if (choices == null || choices.isEmpty()) {
-            throw new IllegalStateException("DeepInfra call failed: no choices in response");
-        }
+    /**
+     * Streams the assistant reply for the given history as content deltas.
+     * DeepInfra sends OpenAI-style SSE chunks ({@code choices[0].delta.content}) terminated by {@code [DONE]}.
+     */
+    public Flux<String> streamCompletion(String model,
+                                         List<Message> history,
+                                         double temperature,
+                                         int maxTokens) {
+        Map<String, Object> req = Map.of(
+                "model", model,
+                "messages", promptContextManager.window(history),
+                "temperature", temperature,
+                "max_tokens", maxTokens,
+                "stream", true
+        );
 
-        Map<String, Object> msgMap = (Map<String, Object>) choices.get(0).get("message");
-        if (msgMap == null) {
-            throw new IllegalStateException("DeepInfra call failed: missing message object");
-        }
+        return http.post()
+                .uri("/chat/completions")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(req)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                .map(this::parseDelta)
+                .filter(delta -> !delta.isEmpty());
+    }
 
-        String role = String.valueOf(msgMap.getOrDefault("role", "assistant"));
-        String content = String.valueOf(msgMap.getOrDefault("content", ""));
+    /**
+     * Streams the reply, hands every delta to {@code onDelta} as it arrives and emits the UPDATED
+     * conversation (history + assembled assistant message) once the stream completes.
+     */
+    public Mono<List<Message>> streamConversation(List<Message> history, Consumer<String> onDelta) {
+        List<Message> snapshot = new ArrayList<>(history);
+        return streamCompletion(this.model, snapshot, 0.7, 512)
+                .doOnNext(onDelta)
+                .collect(StringBuilder::new, StringBuilder::append)
+                .timeout(CALL_TIMEOUT)
+                .map(content -> {
+                    if (content.isEmpty()) {
+                        throw new IllegalStateException("DeepInfra call failed: empty stream");
+                    }
+                    List<Message> updated = new ArrayList<>(snapshot);
+                    updated.add(new Message("assistant", content.toString()));
+                    return updated;
+                });
+    }
 
-        List<Message> updated = new ArrayList<>(history);
-        updated.add(new Message(role, content));
-        return updated;
+    /** Non-blocking variant of {@link #streamConversation(List, Consumer)} for future-based callers. */
+    public CompletableFuture<List<Message>> chatConversionStreamingAsync(List<Message> history, Consumer<String> onDelta) {
+        return streamConversation(history, onDelta).toFuture();
+    }
+
+    private String parseDelta(String data) {
+        try {
+            JsonNode choices = objectMapper.readTree(data).path("choices");
+            if (!choices.isArray() || choices.isEmpty()) return "";
+            JsonNode content = choices.get(0).path("delta").path("content");
+            return content.isTextual() ? content.asText() : "";
+        } catch (Exception e) {
+            log.warn("Skipping unreadable DeepInfra stream chunk: {}", data);
+            return "";
+        }
     }
 
     /* ===========================
@@ -91,16 +202,18 @@ public class DeepinfraService {
         return chatReturnConversation(this.model, new ArrayList<>(history), 0.7, 512);
     }
 
+    /** Non-blocking variant of {@link #chatConversion(List)}. */
+    public CompletableFuture<List<Message>> chatConversionAsync(List<Message> history) {
+        return completeConversation(this.model, history, 0.7, 512).toFuture();
+    }
+
     /** Continue a chat using the conversation stored in a Game entity. */
     public List<Message> chatConversion(Game game) {
         List<Message> history = game.getConversationList(); // expects the entity helper you added
         List<Message> updated = chatReturnConversation(this.model, new ArrayList<>(history), 0.7, 512);
 
-        // Persist back into the jsonb map
-        if (game.getConversation() == null) {
-            game.setConversation(new HashMap<>());
-        }
-        game.getConversation().put("messages", updated);
+        // Persist back (appends the assistant reply to the game's message log)
+        game.setConversationList(updated);
 
         return updated;
     }
@@ -0,0 +1,191 @@
+package at.fhtw.society.backend.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the message list that is actually sent to the model from a game's full conversation.
+ * The stored conversation keeps growing; the prompt only contains:
+ * - the system prompt(s)
+ * - one rolling summary of all finished rounds (built locally from the intro, dilemma titles and outcomes)
+ * - the messages of the current round, with the per-player vote messages collapsed into one tally
+ * If the result still exceeds the token budget, the oldest summary lines and then the oldest
+ * current-round messages are dropped; the last message (the actual request) is always kept.
+ * Metrics: ai.prompt.tokens (estimated tokens sent), ai.prompt.tokens.saved (estimated tokens not sent).
+ */
+@Slf4j
+@Component
+public class PromptContextManager {
+
+    // rough estimate for English text; good enough to enforce a budget without a tokenizer
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int TOKENS_PER_MESSAGE = 4;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int tokenBudget;
+
+    private final DistributionSummary promptTokens;
+    private final Counter savedTokens;
+
+    public PromptContextManager(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${deepinfra.context.enabled:true}") boolean enabled,
+                                @Value("${deepinfra.context.token-budget:3000}") int tokenBudget) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.tokenBudget = tokenBudget;
+        this.promptTokens = DistributionSummary.builder("ai.prompt.tokens").register(meterRegistry);
+        this.savedTokens = Counter.builder("ai.prompt.tokens.saved").register(meterRegistry);
+    }
+
+    /** Returns the bounded prompt for the given conversation. The conversation itself is not modified. */
+    public List<Message> window(List<Message> conversation) {
+        int fullTokens = estimateTokens(conversation);
+        if (!enabled || conversation.size() < 3) {
+            promptTokens.record(fullTokens);
+            return conversation;
+        }
+
+        List<Message> system = new ArrayList<>();
+        int i = 0;
+        while (i < conversation.size() && "system".equals(conversation.get(i).getRole())) {
+            system.add(conversation.get(i++));
+        }
+
+        // everything up to the last outcome belongs to finished rounds
+        int lastOutcome = -1;
+        for (int j = conversation.size() - 1; j >= i; j--) {
+            if ("outcome".equals(typeOf(conversation.get(j)))) {
+                lastOutcome = j;
+                break;
+            }
+        }
+
+        List<String> summaryLines = new ArrayList<>();
+        int currentStart = i;
+        if (lastOutcome >= 0) {
+            summaryLines = summarize(conversation.subList(i, lastOutcome + 1));
+            currentStart = lastOutcome + 1;
+        }
+        List<Message> current = collapseVotes(conversation.subList(currentStart, conversation.size()));
+
+        List<Message> window = assemble(system, summaryLines, current);
+        while (estimateTokens(window) > tokenBudget && !summaryLines.isEmpty()) {
+            summaryLines.remove(0);
+            window = assemble(system, summaryLines, current);
+        }
+        while (estimateTokens(window) > tokenBudget && current.size() > 1) {
+            current.remove(0);
+            window = assemble(system, summaryLines, current);
+        }
+
+        int windowTokens = estimateTokens(window);
+        promptTokens.record(windowTokens);
+        if (fullTokens > windowTokens) {
+            savedTokens.increment(fullTokens - windowTokens);
+            log.debug("Prompt reduced from ~{} to ~{} tokens ({} -> {} messages)",
+                    fullTokens, windowTokens, conversation.size(), window.size());
+        }
+        return window;
+    }
+
+    private List<Message> assemble(List<Message> system, List<String> summaryLines, List<Message> current) {
+        List<Message> window = new ArrayList<>(system);
+        if (!summaryLines.isEmpty()) {
+            window.add(new Message("system", "Story so far (previous rounds, summarized):\n" + String.join("\n", summaryLines)));
+        }
+        window.addAll(current);
+        return window;
+    }
+
+    /** One line for the intro and one per finished round. Prompts and votes are dropped. */
+    private List<String> summarize(List<Message> finished) {
+        List<String> lines = new ArrayList<>();
+        String dilemmaTitle = null;
+        for (Message message : finished) {
+            JsonNode json = parse(message);
+            if (json == null || !"assistant".equals(message.getRole())) continue;
+
+            switch (json.path("type").asText()) {
+                case "intro" -> lines.add("Intro: " + json.path("message").asText());
+                case "dilemma" -> dilemmaTitle = json.path("title").asText();
+                case "outcome" -> {
+                    lines.add("Round %s%s: choice %s won. %s".formatted(
+                            json.path("round").asText("?"),
+                            dilemmaTitle != null ? " (" + dilemmaTitle + ")" : "",
+                            json.path("winningChoiceId").asText("?"),
+                            json.path("summary").asText()));
+                    dilemmaTitle = null;
+                }
+                default -> {
+                }
+            }
+        }
+        return lines;
+    }
+
+    /** Replaces the per-player vote messages of the current round by a single tally message. */
+    private List<Message> collapseVotes(List<Message> current) {
+        List<Message> collapsed = new ArrayList<>();
+        Map<String, Integer> counts = new TreeMap<>();
+        String round = null;
+        int insertAt = -1;
+        for (Message message : current) {
+            JsonNode json = "user".equals(message.getRole()) ? parse(message) : null;
+            if (json != null && "vote".equals(json.path("type").asText())) {
+                if (insertAt < 0) insertAt = collapsed.size();
+                round = json.path("round").asText();
+                counts.merge(json.path("choiceId").asText(), 1, Integer::sum);
+                continue;
+            }
+            collapsed.add(message);
+        }
+        if (insertAt >= 0) {
+            StringBuilder tally = new StringBuilder();
+            counts.forEach((choiceId, count) -> tally.append(tally.isEmpty() ? "" : ",")
+                    .append('"').append(choiceId).append("\":").append(count));
+            collapsed.add(insertAt, new Message("user",
+                    "{\"type\":\"votes\",\"round\":\"" + round + "\",\"countsByChoiceId\":{" + tally + "}}"));
+        }
+        return collapsed;
+    }
+
+    private String typeOf(Message message) {
+        JsonNode json = parse(message);
+        return json == null ? null : json.path("type").asText(null);
+    }
+
+    private JsonNode parse(Message message) {
+        String content = message.getContent();
+        if (content == null) return null;
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        if (start < 0 || end <= start) return null;
+        try {
+            return objectMapper.readTree(content.substring(start, end + 1));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    static int estimateTokens(List<Message> messages) {
+        int tokens = 0;
+        for (Message message : messages) {
+            String content = message.getContent();
+            tokens += TOKENS_PER_MESSAGE + (content == null ? 0 : content.length() / CHARS_PER_TOKEN);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,80 @@
+package at.fhtw.society.backend.common.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small bounded in-memory cache whose entries expire a fixed time after they were written.
+ * Expired entries are dropped lazily (on read and when the cache is full). When the cache is full and
+ * nothing has expired, an arbitrary entry is evicted; callers must be able to recompute any value.
+ */
+public class ExpiringCache<K, V> {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public ExpiringCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /** Returns the value, or null if there is none or it has expired. */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        makeRoom();
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Returns the current value, or atomically stores and returns a new one if there is none (or it expired).
+     * The expiry is not extended by reads. The factory runs under the map's lock, so it must be cheap
+     * (no I/O); for slow values store a future and complete it outside.
+     */
+    public V computeIfAbsent(K key, Function<K, V> factory) {
+        long now = System.nanoTime();
+        Entry<V> existing = entries.get(key);
+        if (existing == null || existing.isExpired(now)) makeRoom();
+        return entries.compute(key, (k, entry) ->
+                entry == null || entry.isExpired(now) ? new Entry<>(factory.apply(k), now + ttlNanos) : entry).value;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        if (entries.size() < maxSize) return;
+
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package at.fhtw.society.backend.common.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks one at a time per key, in submission order, on a shared executor.
+ * Different keys run in parallel; a key without pending work holds no state and no thread.
+ * This gives every key (e.g. a game) a lightweight mailbox without dedicating a thread to it.
+ *
+ * Tasks must not block on other tasks of the same key (that would deadlock the mailbox).
+ * If the shared executor rejects a task, the returned future fails with its RejectedExecutionException
+ * and later tasks of the key still run.
+ */
+public class KeyedSerialExecutor<K> {
+
+    private final Executor executor;
+    private final ConcurrentHashMap<K, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> submit(K key, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        // the previous tail is the task this one has to wait for
+        CompletableFuture<Void> previous = tails.put(key, done);
+        if (previous == null) {
+            dispatch(task, result, done);
+        } else {
+            previous.whenComplete((ignored, ex) -> dispatch(task, result, done));
+        }
+
+        // only the last task of a key removes the mailbox
+        done.whenComplete((ignored, ex) -> tails.remove(key, done));
+        return result;
+    }
+
+    public CompletableFuture<Void> execute(K key, Runnable task) {
+        return submit(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /** Number of keys that currently have queued or running tasks. */
+    public int activeKeys() {
+        return tails.size();
+    }
+
+    private <T> void dispatch(Callable<T> task, CompletableFuture<T> result, CompletableFuture<Void> done) {
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    done.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            done.complete(null);
+        }
+    }
+}
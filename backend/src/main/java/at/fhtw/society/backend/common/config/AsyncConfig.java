@@ -0,0 +1,67 @@
+package at.fhtw.society.backend.common.config;
+
+import at.fhtw.society.backend.common.concurrent.KeyedSerialExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.UUID;
+
+/**
+ * Executors for work that must not run on request threads or on the HTTP client's event loop.
+ * - gameTaskExecutor: persists AI results (short transactions) and pushes them over WebSocket; also runs
+ *   lobby joins once their password check finished
+ * - gameMailbox: runs the mutations of one game one after another (on gameTaskExecutor)
+ * - passwordTaskExecutor: BCrypt checks of lobby passwords (CPU bound, so bounded and with a short queue)
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${game.executor.core-size:4}")
+    private int coreSize;
+
+    @Value("${game.executor.max-size:16}")
+    private int maxSize;
+
+    @Value("${game.executor.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor gameTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("game-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Value("${lobby.password.executor.size:2}")
+    private int passwordPoolSize;
+
+    @Value("${lobby.password.executor.queue-capacity:50}")
+    private int passwordQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordPoolSize);
+        executor.setMaxPoolSize(passwordPoolSize);
+        executor.setQueueCapacity(passwordQueueCapacity);
+        executor.setThreadNamePrefix("password-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public KeyedSerialExecutor<UUID> gameMailbox(ThreadPoolTaskExecutor gameTaskExecutor, MeterRegistry meterRegistry) {
+        KeyedSerialExecutor<UUID> mailbox = new KeyedSerialExecutor<>(gameTaskExecutor);
+        Gauge.builder("game.mailbox.active", mailbox, KeyedSerialExecutor::activeKeys).register(meterRegistry);
+        return mailbox;
+    }
+}
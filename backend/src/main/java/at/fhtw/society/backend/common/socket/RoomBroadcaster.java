@@ -0,0 +1,91 @@
+package at.fhtw.society.backend.common.socket;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.transport.NamespaceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Sends events to Socket.IO rooms, through the server's StoreFactory (see SocketIOConfig; with
+ * socketio.store=redis every broadcast is also published via Redis).
+ * Metrics: socketio.broadcast.latency (timer, tag event): local fan-out plus publishing to the store
+ */
+@Component
+public class RoomBroadcaster {
+
+    // pending packets of a polling client before it counts as backed up
+    private static final int MAX_POLLING_BACKLOG = 16;
+
+    private final SocketIOServer server;
+    private final MeterRegistry meterRegistry;
+
+    public RoomBroadcaster(SocketIOServer server, MeterRegistry meterRegistry) {
+        this.server = server;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sends an event to all clients in the room.
+     * @param room - name of the room
+     * @param event - Socket.IO event name
+     * @param data - event payload
+     */
+    public void send(String room, String event, Object... data) {
+        long start = System.nanoTime();
+        try {
+            server.getRoomOperations(room).sendEvent(event, data);
+        } finally {
+            record(event, start);
+        }
+    }
+
+    /**
+     * Like send, but skips the clients matching excluded.
+     * @param room - name of the room
+     * @param event - Socket.IO event name
+     * @param excluded - clients that must not get the event
+     * @param data - event payload
+     */
+    public void sendExcept(String room, String event, Predicate<SocketIOClient> excluded, Object... data) {
+        long start = System.nanoTime();
+        try {
+            server.getRoomOperations(room).sendEvent(event, excluded, data);
+        } finally {
+            record(event, start);
+        }
+    }
+
+    /** Clients in the room that are connected to this server. */
+    public Collection<SocketIOClient> localClients(String room) {
+        return server.getRoomOperations(room).getClients();
+    }
+
+    /**
+     * True if the client is not keeping up with what is sent to it: its websocket channel is not writable,
+     * or (long polling) too many packets are waiting for its next poll.
+     */
+    public boolean isBackedUp(SocketIOClient client) {
+        if (!client.isWritable()) return true;
+        // netty-socketio has no public API for the polling backlog; the packet queue is only reachable through
+        // its internal client classes, which may change between versions, so that access is kept here only
+        if (client instanceof NamespaceClient namespaceClient) {
+            Queue<?> backlog = namespaceClient.getBaseClient().getPacketsQueue(client.getTransport());
+            return backlog != null && backlog.size() > MAX_POLLING_BACKLOG;
+        }
+        return false;
+    }
+
+    private void record(String event, long start) {
+        Timer.builder("socketio.broadcast.latency")
+                .tag("event", event)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,9 +1,7 @@
 package at.fhtw.society.backend.game.controller;
 
 import at.fhtw.society.backend.game.dto.DilemmaDto;
-import at.fhtw.society.backend.game.dto.FinalOutcomeDto;
 import at.fhtw.society.backend.game.dto.VoteRequestDto;
-import at.fhtw.society.backend.game.dto.VoteResultDto;
 import at.fhtw.society.backend.game.service.GameService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -35,9 +34,9 @@ public class GameController {
     }
 
     @PostMapping("/{gameId}/start")
-    public ResponseEntity<Object> start(@PathVariable UUID gameId) {
-        gameService.startGame(gameId);
-        return ResponseEntity.ok(Map.of("status", "success", "data", Map.of("gameId", gameId)));
+    public CompletableFuture<ResponseEntity<Object>> start(@PathVariable UUID gameId) {
+        return gameService.startGame(gameId)
+                .thenApply(v -> ResponseEntity.ok(Map.of("status", "success", "data", Map.of("gameId", gameId))));
     }
 
     @GetMapping("/{gameId}/intro")
@@ -54,23 +53,23 @@ public class GameController {
 
     /** optional: manual next round trigger */
     @PostMapping("/{gameId}/rounds/new")
-    public ResponseEntity<Object> newRound(@PathVariable UUID gameId) {
-        DilemmaDto dto = gameService.newRound(gameId);
-        return ResponseEntity.ok(Map.of("status", "success", "data", dto));
+    public CompletableFuture<ResponseEntity<Object>> newRound(@PathVariable UUID gameId) {
+        return gameService.newRound(gameId)
+                .thenApply(dto -> ResponseEntity.ok(Map.of("status", "success", "data", dto)));
     }
 
     /** vote */
     @PostMapping("/{gameId}/dilemma/vote")
-    public ResponseEntity<Object> vote(@PathVariable UUID gameId, @RequestBody VoteRequestDto req) {
-        VoteResultDto res = gameService.vote(gameId, req);
-        return ResponseEntity.ok(Map.of("status", "success", "data", res));
+    public CompletableFuture<ResponseEntity<Object>> vote(@PathVariable UUID gameId, @RequestBody VoteRequestDto req) {
+        return gameService.vote(gameId, req)
+                .thenApply(res -> ResponseEntity.ok(Map.of("status", "success", "data", res)));
     }
 
     /** Get final outcome for a completed game */
     @GetMapping("/{gameId}/outcome")
-    public ResponseEntity<Object> getFinalOutcome(@PathVariable UUID gameId) {
-        FinalOutcomeDto outcome = gameService.getFinalOutcome(gameId);
-        return ResponseEntity.ok(Map.of("status", "success", "data", outcome));
+    public CompletableFuture<ResponseEntity<Object>> getFinalOutcome(@PathVariable UUID gameId) {
+        return gameService.getFinalOutcome(gameId)
+                .thenApply(outcome -> ResponseEntity.ok(Map.of("status", "success", "data", outcome)));
     }
 
     @Getter @Setter
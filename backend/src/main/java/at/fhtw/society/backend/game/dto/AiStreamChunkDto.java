@@ -0,0 +1,20 @@
+package at.fhtw.society.backend.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Partial AI output pushed to the game room while the model is still generating.
+ * step is "dilemma" or "outcome"; delta is the newly generated text (raw JSON fragment).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiStreamChunkDto {
+    private String step;
+    private int roundNumber;
+    private String delta;
+}
@@ -0,0 +1,17 @@
+package at.fhtw.society.backend.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sent by a reconnecting client: the game room to rejoin and the last event sequence number it has seen
+ * (0 if none).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeGameRequestDto {
+    private String gameId;
+    private long lastSeq;
+}
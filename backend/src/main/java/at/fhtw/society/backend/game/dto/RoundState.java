@@ -0,0 +1,9 @@
+package at.fhtw.society.backend.game.dto;
+
+/**
+ * Lifecycle of a round. OPEN -> COMPLETING is a compare-and-set in the DB,
+ * so exactly one request drives the outcome of a round.
+ */
+public enum RoundState {
+    OPEN, COMPLETING, COMPLETED
+}
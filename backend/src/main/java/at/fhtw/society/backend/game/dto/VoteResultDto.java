@@ -8,6 +8,8 @@ import java.util.Map;
 @Getter
 @Setter
 public class VoteResultDto {
+    // sequence number within the game room, only set on voteCompleted events (see GameEventBuffer)
+    private Long seq;
     private int roundNumber;
     private boolean accepted;
     private boolean roundCompleted;
@@ -15,4 +17,17 @@ public class VoteResultDto {
     
     private DilemmaDto nextDilemma;
     private String outcomeSummary;
+
+    /** Copy of this result carrying the given sequence number; the result itself is shared and stays unchanged. */
+    public VoteResultDto withSeq(long seq) {
+        VoteResultDto copy = new VoteResultDto();
+        copy.seq = seq;
+        copy.roundNumber = roundNumber;
+        copy.accepted = accepted;
+        copy.roundCompleted = roundCompleted;
+        copy.counts = counts;
+        copy.nextDilemma = nextDilemma;
+        copy.outcomeSummary = outcomeSummary;
+        return copy;
+    }
 }
@@ -59,6 +59,10 @@ public class Game {
     @Column(name = "ended_at")
     private OffsetDateTime endedAt;
 
+    /** AI summary of the whole game, generated once after it ended. */
+    @Column(name = "final_summary", columnDefinition = "text")
+    private String finalSummary;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -67,10 +71,23 @@ public class Game {
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
+    /**
+     * Legacy storage of the whole conversation as one jsonb document ({"messages": [...]}).
+     * New messages go to {@link #messages}; this is only read for games that predate the game_message table
+     * and is emptied once such a game appends its first new message.
+     */
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "conversation", columnDefinition = "jsonb", nullable = false)
     private Map<String, Object> conversation = new HashMap<>();
 
+    /**
+     * Append-only AI conversation. Adding to this (inverse) bag only queues an INSERT,
+     * it neither loads the existing messages nor updates the game row.
+     */
+    @OneToMany(mappedBy = "game", cascade = CascadeType.PERSIST)
+    @OrderBy("createdAt ASC, seq ASC")
+    private List<GameMessage> messages = new ArrayList<>();
+
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Round> rounds = new HashSet<>();
 
@@ -87,22 +104,51 @@ public class Game {
     }
 
     public List<Message> getConversationList() {
-        if (conversation == null) return List.of();
-        Object raw = conversation.get("messages");
-        if (raw == null) return List.of();
-
-        List<Message> messages = OBJECT_MAPPER.convertValue(raw, new TypeReference<List<Message>>() {});
-        return messages != null ? messages : List.of();
+        if (!messages.isEmpty()) {
+            return messages.stream().map(GameMessage::toMessage).toList();
+        }
+        return getLegacyConversationList();
     }
 
+    /**
+     * Keeps the conversation in sync with the given full list. The conversation is append-only:
+     * the first getConversationList().size() entries are expected to be unchanged, only the rest is inserted.
+     */
     public void setConversationList(List<Message> messages) {
-        if (messages == null || messages.isEmpty()) {
-            this.conversation = new HashMap<>(Map.of("messages", List.of()));
-        } else {
-            this.conversation = new HashMap<>(Map.of("messages", messages));
+        if (messages == null) return;
+        int existing = getConversationList().size();
+        if (messages.size() > existing) {
+            appendMessages(messages.subList(existing, messages.size()));
         }
     }
 
+    /** Appends one message (insert only, existing messages are not loaded). */
+    public void appendMessage(Message message) {
+        migrateLegacyConversation();
+        messages.add(new GameMessage(this, message));
+    }
+
+    public void appendMessages(List<Message> newMessages) {
+        newMessages.forEach(this::appendMessage);
+    }
+
+    private void migrateLegacyConversation() {
+        List<Message> legacy = getLegacyConversationList();
+        if (legacy.isEmpty()) return;
+
+        this.conversation = new HashMap<>(Map.of("messages", List.of()));
+        legacy.forEach(message -> messages.add(new GameMessage(this, message)));
+    }
+
+    private List<Message> getLegacyConversationList() {
+        if (conversation == null) return List.of();
+        Object raw = conversation.get("messages");
+        if (raw == null) return List.of();
+
+        List<Message> legacy = OBJECT_MAPPER.convertValue(raw, new TypeReference<List<Message>>() {});
+        return legacy != null ? legacy : List.of();
+    }
+
     // Convenience (not persisted, but nice)
     // Note: gamemaster might be null for guest sessions, check LobbyMember with GAMEMASTER role instead
     @Transient public Player getGamemaster() { return lobby != null ? lobby.getGamemaster() : null; }
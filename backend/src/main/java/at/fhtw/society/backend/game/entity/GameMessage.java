@@ -0,0 +1,62 @@
+package at.fhtw.society.backend.game.entity;
+
+import at.fhtw.society.backend.ai.Message;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One message of a game's AI conversation.
+ * Messages are only ever inserted; the conversation is read back ordered by createdAt, then seq.
+ * seq comes from a pooled DB sequence, so every node hands out ids from its own block and seq alone does not
+ * follow insert order across nodes. Within one transaction (same createdAt or later) seq is increasing.
+ */
+@Entity
+@Table(
+        name = "game_message",
+        indexes = @Index(name = "idx_game_message_game_created", columnList = "game_id, created_at, seq")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class GameMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_message_seq")
+    @SequenceGenerator(name = "game_message_seq", sequenceName = "game_message_seq", allocationSize = 50)
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Long seq;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(
+            name = "game_id",
+            nullable = false,
+            updatable = false,
+            foreignKey = @ForeignKey(name = "fk_game_message_game")
+    )
+    private Game game;
+
+    @Column(name = "role", nullable = false, updatable = false, length = 16)
+    private String role;
+
+    @Column(name = "content", nullable = false, updatable = false, columnDefinition = "text")
+    private String content;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    public GameMessage(Game game, Message message) {
+        this.game = game;
+        this.role = message.getRole();
+        this.content = message.getContent() != null ? message.getContent() : "";
+    }
+
+    public Message toMessage() {
+        return new Message(role, content);
+    }
+}
@@ -1,5 +1,6 @@
 package at.fhtw.society.backend.game.entity;
 
+import at.fhtw.society.backend.game.dto.RoundState;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -41,6 +42,11 @@ public class Round {
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
 
+    // column default so rows created before this column existed are treated as open
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 16, columnDefinition = "varchar(16) default 'OPEN'")
+    private RoundState state = RoundState.OPEN;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "dilemma", columnDefinition = "jsonb", nullable = false)
     private Map<String, Object> dilemma = new HashMap<>();
@@ -52,6 +58,7 @@ public class Round {
         this.game = game;
         this.number = number;
         this.active = true;
+        this.state = RoundState.OPEN;
         this.dilemma = new HashMap<>();
     }
 }
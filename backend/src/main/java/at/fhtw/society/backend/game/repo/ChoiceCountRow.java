@@ -0,0 +1,11 @@
+package at.fhtw.society.backend.game.repo;
+
+/**
+ * Projection of an aggregated vote count: how many votes a choice got in a round.
+ * Used to build the final outcome without loading Voting entities.
+ */
+public interface ChoiceCountRow {
+    Integer getRoundNumber();
+    Integer getChoiceId();
+    Long getVotes();
+}
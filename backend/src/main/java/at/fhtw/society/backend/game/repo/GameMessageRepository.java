@@ -0,0 +1,12 @@
+package at.fhtw.society.backend.game.repo;
+
+import at.fhtw.society.backend.game.entity.GameMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GameMessageRepository extends JpaRepository<GameMessage, Long> {
+    // the intro is the first assistant message of a game
+    Optional<GameMessage> findFirstByGame_IdAndRoleOrderByCreatedAtAscSeqAsc(UUID gameId, String role);
+}
@@ -1,7 +1,10 @@
 package at.fhtw.society.backend.game.repo;
 
+import at.fhtw.society.backend.game.dto.RoundState;
 import at.fhtw.society.backend.game.entity.Round;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +13,12 @@ import java.util.UUID;
 public interface RoundRepository extends JpaRepository<Round, UUID> {
     Optional<Round> findByGame_IdAndNumber(UUID gameId, Integer number);
     List<Round> findAllByGame_IdOrderByNumberAsc(UUID gameId);
+
+    /**
+     * Compare-and-set on the round state.
+     * @return 1 if the round was in state {@code from} and is now in state {@code to}, otherwise 0
+     */
+    @Modifying
+    @Query("UPDATE Round r SET r.state = :to WHERE r.id = :roundId AND r.state = :from")
+    int transitionState(UUID roundId, RoundState from, RoundState to);
 }
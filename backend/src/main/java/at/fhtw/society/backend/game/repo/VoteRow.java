@@ -0,0 +1,12 @@
+package at.fhtw.society.backend.game.repo;
+
+import java.util.UUID;
+
+/**
+ * Projection of a single vote (who voted for which choice) without loading Voting entities.
+ * Used to rebuild the in-memory tally of a round, e.g. after a restart.
+ */
+public interface VoteRow {
+    UUID getPlayerId();
+    Integer getChoiceId();
+}
@@ -2,6 +2,7 @@ package at.fhtw.society.backend.game.repo;
 
 import at.fhtw.society.backend.game.entity.Voting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +13,15 @@ public interface VotingRepository extends JpaRepository<Voting, UUID> {
     long countByRound_Id(UUID roundId);
     List<Voting> findAllByRound_Id(UUID roundId);
     Optional<Voting> findByRound_IdAndPlayer_Id(UUID roundId, UUID playerId);
+
+    @Query("SELECT v.player.id AS playerId, v.choiceId AS choiceId FROM Voting v WHERE v.round.id = :roundId")
+    List<VoteRow> findVoteRowsByRoundId(UUID roundId);
+
+    @Query("""
+            SELECT v.round.number AS roundNumber, v.choiceId AS choiceId, COUNT(v) AS votes
+            FROM Voting v
+            WHERE v.round.game.id = :gameId
+            GROUP BY v.round.number, v.choiceId
+            """)
+    List<ChoiceCountRow> countVotesByRoundAndChoice(UUID gameId);
 }
@@ -0,0 +1,193 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.ai.AiPriority;
+import at.fhtw.society.backend.ai.AiResilience;
+import at.fhtw.society.backend.ai.AiScheduler;
+import at.fhtw.society.backend.ai.DeepinfraService;
+import at.fhtw.society.backend.ai.Message;
+import at.fhtw.society.backend.game.dto.DilemmaDto;
+import at.fhtw.society.backend.game.entity.Theme;
+import at.fhtw.society.backend.game.repo.ThemeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of pre-generated game openings (system prompt, intro, round 1 dilemma) per theme.
+ * startGame draws from the pool so a game start does not wait for two LLM calls; a scheduler refills
+ * the pool in the background within a fixed budget of AI calls per minute.
+ * Metrics:
+ * - game.dilemma.pool.depth (gauge, per theme)
+ * - game.dilemma.pool.draws (counter, result=hit|miss)
+ * - game.dilemma.pool.refill.lag (timer: time from a draw until its slot is refilled)
+ */
+@Slf4j
+@Service
+public class DilemmaPoolService {
+
+    // intro + round 1 dilemma
+    private static final int CALLS_PER_OPENING = 2;
+    private static final String STEP_POOL = "pool";
+
+    private final ThemeRepository themeRepository;
+    private final DeepinfraService deepinfraService;
+    private final AiScheduler aiScheduler;
+    private final AiResilience aiResilience;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int depth;
+    private final int maxCallsPerMinute;
+
+    private final ConcurrentHashMap<UUID, ThemePool> pools = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refillLag;
+
+    // fixed one-minute window for the refill budget (only touched by the scheduler thread)
+    private long budgetWindowStart = System.nanoTime();
+    private int callsInWindow;
+
+    public DilemmaPoolService(ThemeRepository themeRepository,
+                              DeepinfraService deepinfraService,
+                              AiScheduler aiScheduler,
+                              AiResilience aiResilience,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${game.pool.enabled:true}") boolean enabled,
+                              @Value("${game.pool.depth:2}") int depth,
+                              @Value("${game.pool.max-calls-per-minute:12}") int maxCallsPerMinute) {
+        this.themeRepository = themeRepository;
+        this.deepinfraService = deepinfraService;
+        this.aiScheduler = aiScheduler;
+        this.aiResilience = aiResilience;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.depth = depth;
+        this.maxCallsPerMinute = maxCallsPerMinute;
+
+        this.hits = Counter.builder("game.dilemma.pool.draws").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("game.dilemma.pool.draws").tag("result", "miss").register(meterRegistry);
+        this.refillLag = Timer.builder("game.dilemma.pool.refill.lag").register(meterRegistry);
+    }
+
+    /**
+     * Takes a ready opening for the theme: [system, intro, round 1 prompt, round 1 dilemma].
+     * Returns empty if the pool is disabled or currently empty; the caller then generates live.
+     */
+    public Optional<List<Message>> draw(UUID themeId) {
+        if (!enabled) return Optional.empty();
+
+        ThemePool pool = poolFor(themeId);
+        List<Message> opening = pool.entries.poll();
+        if (opening == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        pool.drainedAt.add(System.nanoTime());
+        return Optional.of(opening);
+    }
+
+    @Scheduled(fixedDelayString = "${game.pool.refill-interval-ms:10000}")
+    public void refill() {
+        if (!enabled) return;
+
+        for (Theme theme : themeRepository.findAll()) {
+            ThemePool pool = poolFor(theme.getId());
+            int missing = depth - pool.entries.size() - pool.inFlight.get();
+            for (int i = 0; i < missing; i++) {
+                if (!tryAcquireBudget()) return;
+                generate(theme, pool);
+            }
+        }
+    }
+
+    private void generate(Theme theme, ThemePool pool) {
+        pool.inFlight.incrementAndGet();
+        String systemContext = GamePrompts.systemContext(theme.getTheme());
+        // refills are background work: the AI scheduler serves requests of running games first
+        aiResilience.call(STEP_POOL, () -> aiScheduler.submit(null, AiPriority.BACKGROUND, List.of(new Message("system", systemContext)),
+                        () -> deepinfraService.initConversationAsync(systemContext)), null)
+                .thenCompose(convo -> {
+                    List<Message> history = new ArrayList<>(convo);
+                    history.add(new Message("user", GamePrompts.OPENING_ROUND_PROMPT));
+                    return aiResilience.call(STEP_POOL, () -> aiScheduler.submit(null, AiPriority.BACKGROUND, history,
+                            () -> deepinfraService.chatConversionAsync(history)), null);
+                })
+                .whenComplete((opening, ex) -> {
+                    pool.inFlight.decrementAndGet();
+                    if (ex != null) {
+                        log.warn("Refilling opening pool for theme {} failed: {}", theme.getTheme(), ex.getMessage());
+                        return;
+                    }
+                    if (!isValidDilemma(opening.get(opening.size() - 1))) {
+                        log.warn("Discarding pooled opening for theme {}: invalid dilemma JSON", theme.getTheme());
+                        return;
+                    }
+                    pool.entries.add(List.copyOf(opening));
+
+                    Long drained = pool.drainedAt.poll();
+                    if (drained != null) {
+                        refillLag.record(Duration.ofNanos(System.nanoTime() - drained));
+                    }
+                });
+    }
+
+    private boolean isValidDilemma(Message message) {
+        try {
+            DilemmaDto dilemma = objectMapper.readValue(GamePrompts.extractJson(message.getContent()), DilemmaDto.class);
+            return dilemma.getChoices() != null && !dilemma.getChoices().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private boolean tryAcquireBudget() {
+        long now = System.nanoTime();
+        if (now - budgetWindowStart >= Duration.ofMinutes(1).toNanos()) {
+            budgetWindowStart = now;
+            callsInWindow = 0;
+        }
+        if (callsInWindow + CALLS_PER_OPENING > maxCallsPerMinute) {
+            return false;
+        }
+        callsInWindow += CALLS_PER_OPENING;
+        return true;
+    }
+
+    private ThemePool poolFor(UUID themeId) {
+        return pools.computeIfAbsent(themeId, id -> {
+            ThemePool pool = new ThemePool();
+            Gauge.builder("game.dilemma.pool.depth", pool.entries, ConcurrentLinkedQueue::size)
+                    .tag("theme", id.toString())
+                    .register(meterRegistry);
+            return pool;
+        });
+    }
+
+    private static final class ThemePool {
+        private final ConcurrentLinkedQueue<List<Message>> entries = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Long> drainedAt = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+}
@@ -0,0 +1,117 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.ai.Message;
+import at.fhtw.society.backend.game.dto.ChoiceDto;
+import at.fhtw.society.backend.game.dto.DilemmaDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locally built replies in the narrator's JSON format, used when the AI is unavailable or too slow,
+ * so a game keeps moving during provider incidents:
+ * - outcome: a plain summary of the winning choice, read from the round's dilemma in the conversation
+ * - dilemma: a theme-neutral dilemma from a small built-in bank
+ */
+final class FallbackReplies {
+
+    private static final List<String[]> DILEMMA_BANK = List.of(
+            new String[]{"Scarce Resources", "Supplies are running low and not everyone can be provided for.",
+                    "Ration equally", "Everyone gets the same small share.",
+                    "Prioritize the vulnerable", "The weakest are served first.",
+                    "Reward contribution", "Those who work the most receive the most.",
+                    "Trade with outsiders", "Give up independence in exchange for supplies."},
+            new String[]{"A Voice of Dissent", "A respected member openly challenges the group's recent decisions.",
+                    "Open debate", "Hold a public debate and let everyone be heard.",
+                    "Give them a role", "Invite the critic into the leadership.",
+                    "Ignore it", "Carry on as before and let the criticism fade.",
+                    "Silence them", "Restrict the critic's influence for the sake of unity."},
+            new String[]{"The Stranger", "A stranger arrives asking to join, bringing skills but also unknown risks.",
+                    "Welcome them", "Accept the stranger without conditions.",
+                    "Trial period", "Let them stay under observation for a while.",
+                    "Ask for payment", "Allow them in only in exchange for their skills.",
+                    "Turn them away", "Keep the community closed to outsiders."},
+            new String[]{"Broken Rules", "Someone broke an important rule, but with good intentions.",
+                    "Full punishment", "Apply the rule strictly, no exceptions.",
+                    "Forgive", "Pardon them because of their intentions.",
+                    "Change the rule", "Use the case to rewrite the rule.",
+                    "Let them decide", "Let the affected people choose the consequence."}
+    );
+
+    private FallbackReplies() {
+    }
+
+    /** Outcome JSON for the round, summarizing the winning choice and the vote. */
+    static String outcome(ObjectMapper objectMapper, List<Message> conversation, int roundNumber,
+                          int winningChoiceId, Map<Integer, Long> counts) {
+        String choice = winningChoiceTitle(objectMapper, conversation, winningChoiceId);
+        long total = counts == null ? 0 : counts.values().stream().mapToLong(Long::longValue).sum();
+        long winnerVotes = counts == null ? 0 : counts.getOrDefault(winningChoiceId, 0L);
+
+        String summary = (choice != null ? "The group chose \"" + choice + "\"" : "The group chose option " + winningChoiceId)
+                + (total > 0 ? " with " + winnerVotes + " of " + total + " votes" : "")
+                + ". Its consequences will shape what comes next.";
+
+        Map<String, Object> outcome = new LinkedHashMap<>();
+        outcome.put("type", "outcome");
+        outcome.put("round", roundNumber);
+        outcome.put("winningChoiceId", winningChoiceId);
+        outcome.put("summary", summary);
+        return write(objectMapper, outcome);
+    }
+
+    /** Dilemma JSON from the bank for the given round. */
+    static String dilemma(ObjectMapper objectMapper, int roundNumber) {
+        String[] entry = DILEMMA_BANK.get(Math.floorMod(roundNumber - 1, DILEMMA_BANK.size()));
+
+        Map<String, Object> dilemma = new LinkedHashMap<>();
+        dilemma.put("type", "dilemma");
+        dilemma.put("id", roundNumber);
+        dilemma.put("title", entry[0]);
+        dilemma.put("context", entry[1]);
+        List<Map<String, Object>> choices = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Map<String, Object> choice = new LinkedHashMap<>();
+            choice.put("id", i + 1);
+            choice.put("title", entry[2 + i * 2]);
+            choice.put("description", entry[3 + i * 2]);
+            choices.add(choice);
+        }
+        dilemma.put("choices", choices);
+        return write(objectMapper, dilemma);
+    }
+
+    /** Title of the choice in the most recent dilemma of the conversation, or null if it cannot be found. */
+    private static String winningChoiceTitle(ObjectMapper objectMapper, List<Message> conversation, int winningChoiceId) {
+        for (int i = conversation.size() - 1; i >= 0; i--) {
+            Message message = conversation.get(i);
+            if (!"assistant".equals(message.getRole())) continue;
+            try {
+                Map<?, ?> json = objectMapper.readValue(GamePrompts.extractJson(message.getContent()), Map.class);
+                if (!"dilemma".equals(json.get("type"))) continue;
+                DilemmaDto dilemma = objectMapper.convertValue(json, DilemmaDto.class);
+                if (dilemma.getChoices() == null) return null;
+                return dilemma.getChoices().stream()
+                        .filter(choice -> choice.getId() == winningChoiceId)
+                        .map(ChoiceDto::getTitle)
+                        .findFirst()
+                        .orElse(null);
+            } catch (Exception e) {
+                // not a JSON reply, keep looking
+            }
+        }
+        return null;
+    }
+
+    private static String write(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not build fallback reply", e);
+        }
+    }
+}
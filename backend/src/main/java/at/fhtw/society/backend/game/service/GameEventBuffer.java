@@ -0,0 +1,100 @@
+package at.fhtw.society.backend.game.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Keeps the most recent events of every game room with per-room sequence numbers (1, 2, 3, ...),
+ * so a reconnecting client can get exactly the events it missed instead of polling the REST API.
+ * Rooms without events for a while are dropped; a client asking for such a room has to resync.
+ */
+@Slf4j
+@Component
+public class GameEventBuffer {
+
+    private final int capacity;
+    private final long idleNanos;
+    private final ConcurrentHashMap<UUID, Room> rooms = new ConcurrentHashMap<>();
+
+    public GameEventBuffer(@Value("${game.events.replay-size:32}") int capacity,
+                           @Value("${game.events.idle-minutes:60}") long idleMinutes) {
+        this.capacity = capacity;
+        this.idleNanos = idleMinutes * 60_000_000_000L;
+    }
+
+    /**
+     * Assigns the next sequence number of the game's room, builds the payload with it, buffers it and sends it.
+     * Sending happens under the room's lock, so clients receive events in sequence order.
+     * @param gameId - ID of the game
+     * @param event - Socket.IO event name
+     * @param payload - builds the payload for the assigned sequence number
+     * @param sender - sends (event, payload) to the room
+     */
+    public void publish(UUID gameId, String event, LongFunction<Object> payload, BiConsumer<String, Object> sender) {
+        Room room = rooms.computeIfAbsent(gameId, id -> new Room());
+        synchronized (room) {
+            long seq = ++room.lastSeq;
+            BufferedEvent buffered = new BufferedEvent(seq, event, payload.apply(seq));
+            room.events.addLast(buffered);
+            if (room.events.size() > capacity) room.events.removeFirst();
+            room.touchedAt = System.nanoTime();
+            sender.accept(buffered.event(), buffered.payload());
+        }
+    }
+
+    /**
+     * Returns the events after lastSeq, in order. Empty if they cannot be replayed completely
+     * (room unknown, events already overwritten, or lastSeq from an earlier buffer), then the client must resync.
+     */
+    public Optional<List<BufferedEvent>> eventsAfter(UUID gameId, long lastSeq) {
+        Room room = rooms.get(gameId);
+        if (room == null) {
+            return lastSeq == 0 ? Optional.of(List.of()) : Optional.empty();
+        }
+        synchronized (room) {
+            long oldest = room.events.isEmpty() ? room.lastSeq + 1 : room.events.peekFirst().seq();
+            if (lastSeq > room.lastSeq || lastSeq < oldest - 1) {
+                return Optional.empty();
+            }
+            List<BufferedEvent> missed = new ArrayList<>();
+            for (BufferedEvent event : room.events) {
+                if (event.seq() > lastSeq) missed.add(event);
+            }
+            return Optional.of(missed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.events.cleanup-interval-ms:300000}")
+    public void dropIdleRooms() {
+        long now = System.nanoTime();
+        int before = rooms.size();
+        rooms.values().removeIf(room -> {
+            synchronized (room) {
+                return now - room.touchedAt > idleNanos;
+            }
+        });
+        if (rooms.size() < before) {
+            log.debug("Dropped {} idle game event buffers", before - rooms.size());
+        }
+    }
+
+    public record BufferedEvent(long seq, String event, Object payload) {
+    }
+
+    private static final class Room {
+        private final ArrayDeque<BufferedEvent> events = new ArrayDeque<>();
+        private long lastSeq;
+        private long touchedAt = System.nanoTime();
+    }
+}
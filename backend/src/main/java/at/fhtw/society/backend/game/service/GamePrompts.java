@@ -0,0 +1,90 @@
+package at.fhtw.society.backend.game.service;
+
+import java.util.Map;
+
+/**
+ * Prompts sent to the AI narrator and helpers to read its replies.
+ * The system context only depends on the theme, so openings can be prepared per theme in advance;
+ * the total number of rounds is part of every round prompt instead.
+ */
+final class GamePrompts {
+
+    /** Round-1 prompt for openings generated before the game (and thus its round count) is known. */
+    static final String OPENING_ROUND_PROMPT = "Create the dilemma for round 1. Respond with Dilemma JSON only.";
+
+    private GamePrompts() {
+    }
+
+    static String systemContext(String themeName) {
+        return """
+        You are the narrator for a dilemma voting game.
+
+        THEME: %s
+
+        CRITICAL OUTPUT RULE:
+        - You MUST reply with ONLY valid JSON.
+        - No markdown, no backticks, no extra text.
+
+        Use these schemas:
+
+        Intro:
+        {
+          "type": "intro",
+          "theme": string,
+          "message": string
+        }
+
+        Dilemma:
+        {
+          "type": "dilemma",
+          "id": number,
+          "title": string,
+          "context": string,
+          "choices": [
+            { "id": number, "title": string, "description": string }
+          ]
+        }
+        Rules: exactly 4 choices, concise text.
+
+        Outcome:
+        {
+          "type": "outcome",
+          "round": number,
+          "winningChoiceId": number,
+          "summary": string
+        }
+        """.formatted(themeName);
+    }
+
+    static String newRoundPrompt(int roundNumber, int maxRounds) {
+        return "Create the dilemma for round %d of %d. Respond with Dilemma JSON only."
+                .formatted(roundNumber, maxRounds);
+    }
+
+    /** counts may be null when the outcome is pre-generated before the votes are in. */
+    static String outcomePrompt(int roundNumber, int winningChoiceId, Map<Integer, Long> counts) {
+        String votes = counts == null ? "" : "Vote counts: %s\n".formatted(counts);
+        return """
+        The round %d voting has completed.
+        Winning choice: %d
+        %s
+        Produce Outcome JSON only (type="outcome"):
+        - round
+        - winningChoiceId
+        - summary (1-2 sentences)
+        """.formatted(roundNumber, winningChoiceId, votes);
+    }
+
+    static String extractJson(String content) {
+        if (content == null) return "";
+        int start = content.indexOf("```");
+        if (start >= 0) {
+            int jsonStart = content.indexOf("{", start);
+            int endFence = content.indexOf("```", start + 3);
+            if (jsonStart >= 0 && endFence > jsonStart) {
+                return content.substring(jsonStart, endFence).trim();
+            }
+        }
+        return content.trim();
+    }
+}
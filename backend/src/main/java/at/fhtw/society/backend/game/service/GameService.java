@@ -1,27 +1,51 @@
 package at.fhtw.society.backend.game.service;
 
+import at.fhtw.society.backend.ai.AiPriority;
+import at.fhtw.society.backend.ai.AiResilience;
+import at.fhtw.society.backend.ai.AiScheduler;
+import at.fhtw.society.backend.ai.AiSingleFlight;
 import at.fhtw.society.backend.ai.DeepinfraService;
 import at.fhtw.society.backend.ai.Message;
+import at.fhtw.society.backend.common.cache.ExpiringCache;
+import at.fhtw.society.backend.common.concurrent.KeyedSerialExecutor;
 import at.fhtw.society.backend.game.dto.*;
 import at.fhtw.society.backend.game.entity.*;
 import at.fhtw.society.backend.game.repo.*;
 import at.fhtw.society.backend.lobby.entity.Lobby;
 import at.fhtw.society.backend.lobby.entity.LobbyMember;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.event.LobbyStatusChangedEvent;
 import at.fhtw.society.backend.lobby.repo.LobbyRepository;
 import at.fhtw.society.backend.lobby.repo.LobbyMemberRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GameService {
 
+    private static final String STEP_DILEMMA = "dilemma";
+    private static final String STEP_OUTCOME = "outcome";
+    private static final String STEP_INTRO = "intro";
+    private static final String STEP_FINAL = "final";
+
     private final GameRepository gameRepository;
     private final LobbyRepository lobbyRepository;
     private final LobbyMemberRepository lobbyMemberRepository;
@@ -29,10 +53,30 @@ public class GameService {
 
     private final RoundRepository roundRepository;
     private final VotingRepository votingRepository;
+    private final GameMessageRepository gameMessageRepository;
 
     private final DeepinfraService deepinfraService;
+    private final AiSingleFlight aiSingleFlight;
+    private final AiScheduler aiScheduler;
+    private final AiResilience aiResilience;
     private final ObjectMapper objectMapper;
     private final GameWebSocketService gameWebSocketService;
+    private final RoundSpeculationService roundSpeculationService;
+    private final DilemmaPoolService dilemmaPoolService;
+    private final RoundTallyRegistry roundTallyRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // AI calls run on the HTTP client; results are persisted in short transactions on the game's mailbox,
+    // so the mutations of one game never interleave
+    private final TransactionTemplate transactionTemplate;
+    private final KeyedSerialExecutor<UUID> gameMailbox;
+
+    // in-flight completion per round, shared by all final votes that arrive while it runs
+    private final ConcurrentHashMap<UUID, CompletableFuture<VoteResultDto>> roundCompletions = new ConcurrentHashMap<>();
+
+    // final outcome per ended game, shared by all requests (in flight or done); the summary itself is persisted
+    private final ExpiringCache<UUID, CompletableFuture<FinalOutcomeDto>> finalOutcomes =
+            new ExpiringCache<>(Duration.ofMinutes(30), 1000);
 
     @Transactional
     public UUID createGame(UUID lobbyId) {
@@ -50,6 +94,10 @@ public class GameService {
 
         gameRepository.save(game);
 
+        // the lobby no longer accepts players; lobby list subscribers see the change
+        lobby.setStatus(LobbyStatus.IN_GAME);
+        eventPublisher.publishEvent(new LobbyStatusChangedEvent(lobby.getId(), LobbyStatus.IN_GAME));
+
         return game.getId();
     }
 
@@ -76,33 +124,80 @@ public class GameService {
     /**
      * Initializes the AI conversation with a system context that sets THEME + forces JSON-only replies.
      * Also creates Round 1 and sets game.currentRound.
+     * Intro and Round 1 come from the theme's pre-generated pool when available.
+     * The status change is committed right away; the AI calls run without holding a request thread or
+     * a DB connection, and the result is persisted in a second, short transaction.
+     * If the AI fails, the game is reset to CREATED so it can be started again.
      */
-    @Transactional
-    public void startGame(UUID gameId) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
+    public CompletableFuture<Void> startGame(UUID gameId) {
+        return inGame(gameId, status -> {
+            Game game = gameRepository.findById(gameId)
+                    .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
 
-        if (game.getStatus() == GameStatus.ACTIVE) {
-            throw new IllegalStateException("Game already active.");
-        }
+            if (game.getStatus() == GameStatus.ACTIVE) {
+                throw new IllegalStateException("Game already active.");
+            }
 
-        game.setStatus(GameStatus.ACTIVE);
-        game.setStartedAt(OffsetDateTime.now());
+            game.setStatus(GameStatus.ACTIVE);
+            game.setStartedAt(OffsetDateTime.now());
 
-        String systemContext = buildSystemContext(game.getTheme().getTheme(), game.getMaxRounds());
+            Theme theme = game.getTheme();
+            return new GameSnapshot(theme.getId(), theme.getTheme(), game.getMaxRounds(), 0, List.of());
+        }).thenCompose(snapshot -> openGame(gameId, snapshot)
+                .exceptionallyCompose(ex -> resetToCreated(gameId)
+                        .handle((ignored, resetEx) -> null)
+                        .thenCompose(ignored -> CompletableFuture.failedFuture(ex))));
+    }
 
-        // This will produce JSON intro (type="intro") as assistant message
-        List<Message> convo = deepinfraService.initConversation(systemContext);
-        game.setConversationList(convo);
+    private CompletableFuture<Void> openGame(UUID gameId, GameSnapshot snapshot) {
+        // Use a pre-generated opening for the theme if one is ready, otherwise generate it live
+        CompletableFuture<List<Message>> opening = dilemmaPoolService.draw(snapshot.themeId())
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> {
+                    String systemContext = GamePrompts.systemContext(snapshot.themeName());
+
+                    // This will produce JSON intro (type="intro") as assistant message, then the Round 1 dilemma
+                    List<Message> history = List.of(new Message("system", systemContext));
+                    return aiSingleFlight.call(gameId, STEP_INTRO, history, () -> aiResilience.call(STEP_INTRO,
+                                    () -> aiScheduler.submit(gameId, AiPriority.INTERACTIVE, history,
+                                            () -> deepinfraService.initConversationAsync(systemContext)),
+                                    null))
+                            .thenCompose(convo -> requestDilemma(gameId, 1, snapshot.maxRounds(), convo));
+                });
+
+        return opening.thenCompose(updated -> {
+            DilemmaDto dilemma = parseDilemmaFromAi(updated);
+            return inGame(gameId, status -> {
+                Game game = gameRepository.findById(gameId).orElseThrow();
+                game.appendMessages(updated);
+
+                // Create Round 1 immediately
+                return persistRound(game, 1, dilemma);
+            }).thenAccept(saved -> startSpeculation(gameId, 1, snapshot.maxRounds(), saved, updated));
+        });
+    }
 
-        // Create Round 1 immediately
-        newRoundInternal(game, 1);
+    private CompletableFuture<Void> resetToCreated(UUID gameId) {
+        return inGame(gameId, status -> {
+            gameRepository.findById(gameId).ifPresent(game -> {
+                if (game.getCurrentRound() == null) {
+                    game.setStatus(GameStatus.CREATED);
+                    game.setStartedAt(null);
+                }
+            });
+            return null;
+        });
     }
 
     public String getIntro(UUID gameId) {
         Game game = gameRepository.findById(gameId)
                 .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
 
+        // intro JSON string is the first assistant message
+        Optional<GameMessage> intro = gameMessageRepository.findFirstByGame_IdAndRoleOrderByCreatedAtAscSeqAsc(gameId, "assistant");
+        if (intro.isPresent()) return intro.get().getContent();
+
+        // games that predate the message table
         List<Message> convo = game.getConversationList();
         // initConversation: [system, assistant(intro-json)]
         if (convo.size() < 2) return "";
@@ -125,35 +220,75 @@ public class GameService {
      * Explicitly create the next round (e.g. Gamemaster triggers it).
      * Will prompt the AI for a new dilemma JSON and persist it to Round.dilemma and Game.conversation.
      */
-    @Transactional
-    public DilemmaDto newRound(UUID gameId) {
-        Game game = gameRepository.findById(gameId).orElseThrow();
+    public CompletableFuture<DilemmaDto> newRound(UUID gameId) {
+        return inGame(gameId, status -> {
+            Game game = gameRepository.findById(gameId).orElseThrow();
 
-        int nextNumber = 1;
-        if (game.getCurrentRound() != null && game.getCurrentRound().getNumber() != null) {
-            nextNumber = game.getCurrentRound().getNumber() + 1;
-        }
+            // the final vote is already driving this round's outcome and the next round
+            if (game.getCurrentRound() != null && game.getCurrentRound().getState() == RoundState.COMPLETING) {
+                throw new IllegalStateException("The current round is being completed.");
+            }
 
-        if (nextNumber > game.getMaxRounds()) {
-            throw new IllegalStateException("Max rounds reached.");
-        }
+            int nextNumber = 1;
+            if (game.getCurrentRound() != null && game.getCurrentRound().getNumber() != null) {
+                nextNumber = game.getCurrentRound().getNumber() + 1;
+            }
+
+            if (nextNumber > game.getMaxRounds()) {
+                throw new IllegalStateException("Max rounds reached.");
+            }
 
-        return newRoundInternal(game, nextNumber);
+            return new GameSnapshot(null, null, game.getMaxRounds(), nextNumber, game.getConversationList());
+        }).thenCompose(snapshot -> {
+            // Branches pre-generated for the current round do not apply to a manually opened round
+            roundSpeculationService.discard(gameId);
+
+            int roundNumber = snapshot.roundNumber();
+            return requestDilemma(gameId, roundNumber, snapshot.maxRounds(), snapshot.conversation())
+                    .thenCompose(updated -> {
+                        DilemmaDto dilemma = parseDilemmaFromAi(updated);
+                        return inGame(gameId, status -> {
+                            Game game = gameRepository.findById(gameId).orElseThrow();
+
+                            // another request opened this round while the dilemma was generated
+                            Round current = game.getCurrentRound();
+                            int currentNumber = current == null || current.getNumber() == null ? 0 : current.getNumber();
+                            if (currentNumber != roundNumber - 1) {
+                                throw new IllegalStateException("Round " + roundNumber + " has already been opened.");
+                            }
+
+                            // keep full conversation on track (only the new prompt + dilemma are inserted)
+                            game.appendMessages(updated.subList(snapshot.conversation().size(), updated.size()));
+                            return persistRound(game, roundNumber, dilemma);
+                        }).thenApply(saved -> {
+                            startSpeculation(gameId, roundNumber, snapshot.maxRounds(), saved, updated);
+                            return saved;
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Asks the AI for the dilemma JSON of the given round, based on the given conversation.
+     * If the AI fails or its reply is unusable, a dilemma from the built-in bank is used instead.
+     */
+    private CompletableFuture<List<Message>> requestDilemma(UUID gameId, int roundNumber, int maxRounds, List<Message> conversation) {
+        List<Message> history = new ArrayList<>(conversation);
+        history.add(new Message("user", GamePrompts.newRoundPrompt(roundNumber, maxRounds)));
+        return withFallback(gameId, STEP_DILEMMA, history, askAi(gameId, STEP_DILEMMA, roundNumber, history),
+                this::isUsableDilemma,
+                () -> FallbackReplies.dilemma(objectMapper, roundNumber));
     }
 
-    private DilemmaDto newRoundInternal(Game game, int roundNumber) {
+    /** Closes the previous round and stores the new one as the game's current round. */
+    private DilemmaDto persistRound(Game game, int roundNumber, DilemmaDto dilemma) {
         // Close previous round if exists
         Round prev = game.getCurrentRound();
-        if (prev != null) prev.setActive(false);
-
-        // Ask AI for the dilemma JSON
-        List<Message> history = new ArrayList<>(game.getConversationList());
-        history.add(new Message("user", buildNewRoundPrompt(roundNumber, game.getMaxRounds())));
-
-        List<Message> updated = deepinfraService.chatConversion(history);
-        game.setConversationList(updated); // keep full conversation on track
-
-        DilemmaDto dilemma = parseDilemmaFromAi(updated);
+        if (prev != null) {
+            prev.setActive(false);
+            prev.setState(RoundState.COMPLETED);
+            roundTallyRegistry.evict(prev.getId());
+        }
 
         Round round = new Round(game, roundNumber);
         round.setDilemma(objectMapper.convertValue(dilemma, Map.class));
@@ -168,11 +303,212 @@ public class GameService {
        VOTING API (stores Voting entity + keeps conversation)
        ----------------------------- */
 
-    @Transactional
-    public VoteResultDto vote(UUID gameId, VoteRequestDto req) {
+    /**
+     * Stores the vote in a short transaction on the game's mailbox. If it completes the round, the outcome
+     * and the next dilemma are generated after that transaction has committed, and persisted in a second one.
+     */
+    public CompletableFuture<VoteResultDto> vote(UUID gameId, VoteRequestDto req) {
+        return gameMailbox.submit(gameId, () -> {
+            AcceptedVote accepted = transactionTemplate.execute(status -> recordVote(gameId, req));
+
+            // The vote is committed (write-through); counting happens on the in-memory tally of the round
+            RoundTallyRegistry.RoundTally tally = roundTallyRegistry.tallyFor(accepted.roundId());
+            tally.record(req.getPlayerId(), req.getChoiceId());
+
+            VoteResultDto result = new VoteResultDto();
+            result.setAccepted(true);
+            result.setRoundNumber(accepted.roundNumber());
+            result.setCounts(tally.counts());
+            result.setRoundCompleted(accepted.expectedVotes() > 0 && tally.totalVotes() >= accepted.expectedVotes());
+            return new CountedVote(accepted, result);
+        }).thenCompose(counted -> {
+            // If round isn't complete yet, stop here (no AI call).
+            if (!counted.result().isRoundCompleted()) {
+                counted.result().setNextDilemma(null);
+                return CompletableFuture.completedFuture(counted.result());
+            }
+            return completeOnce(gameId, counted.accepted(), counted.result());
+        });
+    }
+
+    private CompletableFuture<VoteResultDto> completeOnce(UUID gameId, AcceptedVote accepted, VoteResultDto result) {
+        // Several final votes can arrive at the same time. Only the caller that moves the round from OPEN
+        // to COMPLETING drives the outcome; everyone else gets that same result without further AI calls.
+        CompletableFuture<VoteResultDto> completion = new CompletableFuture<>();
+        CompletableFuture<VoteResultDto> running = roundCompletions.putIfAbsent(accepted.roundId(), completion);
+        if (running != null) {
+            return running;
+        }
+        if (!claimRound(accepted.roundId())) {
+            // already claimed elsewhere (e.g. another instance); its result is pushed to the room when done
+            roundCompletions.remove(accepted.roundId(), completion);
+            return CompletableFuture.completedFuture(result);
+        }
+
+        CompletableFuture<VoteResultDto> driven;
+        try {
+            driven = loadAndCompleteRound(gameId, accepted, result);
+        } catch (RuntimeException e) {
+            driven = CompletableFuture.failedFuture(e);
+        }
+        driven.whenComplete((completed, ex) -> {
+            roundCompletions.remove(accepted.roundId(), completion);
+            if (ex != null) {
+                releaseRound(accepted.roundId());
+                completion.completeExceptionally(ex);
+            } else {
+                completion.complete(completed);
+            }
+        });
+        return completion;
+    }
+
+    /** Loads the conversation of a round this caller has claimed and completes it. */
+    private CompletableFuture<VoteResultDto> loadAndCompleteRound(UUID gameId, AcceptedVote accepted, VoteResultDto result) {
+        // the full conversation is only needed (and loaded) when the AI has to continue it
+        return inGame(gameId, status -> gameRepository.findById(gameId).orElseThrow().getConversationList())
+                .thenCompose(conversation -> completeVotedRound(gameId,
+                        new VoteSnapshot(result, accepted.roundId(), accepted.maxRounds(), conversation)));
+    }
+
+    /** Generates and persists outcome (+ next dilemma), then notifies the room. */
+    private CompletableFuture<VoteResultDto> completeVotedRound(UUID gameId, VoteSnapshot snapshot) {
+        VoteResultDto result = snapshot.result();
+        int roundNumber = result.getRoundNumber();
+        int winningChoiceId = winningChoiceId(result.getCounts());
+
+        // Prefer the branch that was pre-generated for the winning choice while players were voting
+        CompletableFuture<RoundTransition> transition = roundSpeculationService.take(gameId, roundNumber, winningChoiceId)
+                .map(branch -> branch
+                        .thenCompose(generated -> toTransition(gameId, snapshot, generated))
+                        .exceptionallyCompose(ex -> {
+                            log.warn("Speculative branch for game {} round {} failed, generating live", gameId, roundNumber, ex);
+                            return generateTransition(gameId, snapshot, winningChoiceId);
+                        }))
+                .orElseGet(() -> generateTransition(gameId, snapshot, winningChoiceId));
+
+        return transition.thenCompose(completed -> inGame(gameId, status -> {
+            completeRound(gameId, snapshot.roundId(), snapshot.conversation().size(), completed);
+            return completed;
+        })).thenApply(completed -> {
+            roundTallyRegistry.evict(snapshot.roundId());
+            result.setNextDilemma(completed.nextDilemma());
+
+            if (completed.nextDilemma() != null) {
+                startSpeculation(gameId, roundNumber + 1, snapshot.maxRounds(), completed.nextDilemma(), completed.conversation());
+            }
+
+            // Notify all players that voting is complete and show outcome
+            gameWebSocketService.notifyVoteCompleted(gameId, result);
+
+            // last round: prepare the final outcome now, before the players open the results screen
+            if (completed.nextDilemma() == null) {
+                getFinalOutcome(gameId).exceptionally(ex -> {
+                    log.warn("Preparing the final outcome of game {} failed", gameId, ex);
+                    return null;
+                });
+            }
+            return result;
+        });
+    }
+
+    /** OPEN -> COMPLETING; true only for the single caller that wins the transition. */
+    boolean claimRound(UUID roundId) {
+        Integer updated = transactionTemplate.execute(status ->
+                roundRepository.transitionState(roundId, RoundState.OPEN, RoundState.COMPLETING));
+        return updated != null && updated == 1;
+    }
+
+    /** Reopens a round whose completion failed, so it can be completed again. */
+    void releaseRound(UUID roundId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    roundRepository.transitionState(roundId, RoundState.COMPLETING, RoundState.OPEN));
+        } catch (RuntimeException e) {
+            log.error("Could not reopen round {} after a failed completion", roundId, e);
+        }
+    }
+
+    /** Generates outcome and next dilemma on demand (no usable speculative branch). */
+    private CompletableFuture<RoundTransition> generateTransition(UUID gameId, VoteSnapshot snapshot, int winningChoiceId) {
+        VoteResultDto result = snapshot.result();
+        int roundNumber = result.getRoundNumber();
+        boolean lastRound = roundNumber >= snapshot.maxRounds();
+
+        // Round completed: ask AI for outcome JSON and append to conversation
+        List<Message> outcomeHistory = new ArrayList<>(snapshot.conversation());
+        outcomeHistory.add(new Message("user", GamePrompts.outcomePrompt(roundNumber, winningChoiceId, result.getCounts())));
+
+        // without a usable AI reply the outcome is summarized locally
+        return withFallback(gameId, STEP_OUTCOME, outcomeHistory, askAi(gameId, STEP_OUTCOME, roundNumber, outcomeHistory),
+                        this::isUsableOutcome,
+                        () -> FallbackReplies.outcome(objectMapper, snapshot.conversation(), roundNumber, winningChoiceId, result.getCounts()))
+                .thenCompose(updated -> {
+                    // Parse outcome to extract summary
+                    result.setOutcomeSummary(parseOutcomeSummary(updated));
+                    if (lastRound) {
+                        return CompletableFuture.completedFuture(new RoundTransition(updated, null));
+                    }
+                    // Auto-create next round (optional; remove this if you want GM to trigger newRound manually)
+                    return requestDilemma(gameId, roundNumber + 1, snapshot.maxRounds(), updated)
+                            .thenApply(next -> new RoundTransition(next, parseDilemmaFromAi(next)));
+                });
+    }
+
+    /**
+     * Appends a speculative branch ([outcome prompt, outcome] plus optionally [dilemma prompt, dilemma])
+     * to the committed conversation, which by now also contains the votes cast during the round.
+     * The branch gets the same checks as a live reply: an unusable outcome fails it (the caller then generates
+     * live), an unusable dilemma is requested again on top of the speculative outcome.
+     */
+    private CompletableFuture<RoundTransition> toTransition(UUID gameId, VoteSnapshot snapshot, List<Message> generated) {
+        VoteResultDto result = snapshot.result();
+        List<Message> outcome = generated.subList(0, 2);
+        if (!isUsableOutcome(outcome)) {
+            throw new IllegalStateException("Speculative outcome is not usable");
+        }
+        result.setOutcomeSummary(parseOutcomeSummary(outcome));
+
+        List<Message> withOutcome = new ArrayList<>(snapshot.conversation());
+        withOutcome.addAll(outcome);
+        if (generated.size() <= 2) {
+            return CompletableFuture.completedFuture(new RoundTransition(withOutcome, null));
+        }
+
+        List<Message> combined = new ArrayList<>(withOutcome);
+        combined.addAll(generated.subList(2, generated.size()));
+        if (isUsableDilemma(combined)) {
+            return CompletableFuture.completedFuture(new RoundTransition(combined, parseDilemmaFromAi(combined)));
+        }
+
+        int nextRound = result.getRoundNumber() + 1;
+        log.warn("Speculative dilemma for game {} round {} is not usable, requesting it again", gameId, nextRound);
+        return requestDilemma(gameId, nextRound, snapshot.maxRounds(), withOutcome)
+                .thenApply(next -> new RoundTransition(next, parseDilemmaFromAi(next)));
+    }
+
+    /** Starts pre-generating outcome + next dilemma for every choice of a freshly opened round. */
+    private void startSpeculation(UUID gameId, int roundNumber, int maxRounds, DilemmaDto dilemma, List<Message> conversation) {
+        if (dilemma.getChoices() == null) return;
+
+        List<Integer> choiceIds = dilemma.getChoices().stream().map(ChoiceDto::getId).toList();
+        String nextDilemmaPrompt = roundNumber < maxRounds ? GamePrompts.newRoundPrompt(roundNumber + 1, maxRounds) : null;
+        roundSpeculationService.start(gameId, roundNumber, choiceIds, conversation,
+                winner -> GamePrompts.outcomePrompt(roundNumber, winner, null), nextDilemmaPrompt);
+    }
+
+    /** Choice with the most votes; ties go to the lowest choice id so every caller agrees on the winner. */
+    private static int winningChoiceId(Map<Integer, Long> counts) {
+        return OutcomeAssembler.winningChoiceId(counts)
+                .orElseThrow(() -> new IllegalStateException("Round completed without votes"));
+    }
+
+    /** Validates and stores the vote. Counting is left to the round's tally once this has committed. */
+    private AcceptedVote recordVote(UUID gameId, VoteRequestDto req) {
         Game game = gameRepository.findById(gameId).orElseThrow();
         Round round = game.getCurrentRound();
         if (round == null) throw new IllegalStateException("No active round to vote on.");
+        if (round.getState() != RoundState.OPEN) throw new IllegalStateException("Voting for this round is closed.");
 
         Lobby lobby = game.getLobby();
         if (lobby == null) throw new IllegalStateException("Game has no associated lobby");
@@ -187,8 +523,8 @@ public class GameService {
                 dilemma.getChoices().stream().anyMatch(c -> c.getId() == req.getChoiceId());
         if (!choiceValid) throw new IllegalArgumentException("Invalid choiceId: " + req.getChoiceId());
 
-        // prevent double vote
-        if (votingRepository.existsByRound_IdAndPlayer_Id(round.getId(), req.getPlayerId())) {
+        // prevent double vote (the unique constraint on round + player backs this up for concurrent requests)
+        if (roundTallyRegistry.tallyFor(round.getId()).hasVoted(req.getPlayerId())) {
             throw new IllegalArgumentException("Player already voted in this round.");
         }
 
@@ -197,151 +533,104 @@ public class GameService {
                 .orElseThrow(() -> new IllegalArgumentException("Player not found: " + req.getPlayerId()));
         votingRepository.save(new Voting(round, player, req.getChoiceId()));
 
-        // keep conversation "on track" (record the action in the chat history)
-        List<Message> history = new ArrayList<>(game.getConversationList());
-        history.add(new Message(
+        // keep conversation "on track" (record the action in the chat history, insert only)
+        game.appendMessage(new Message(
                 "user",
                 "{\"type\":\"vote\",\"round\":" + round.getNumber() +
                         ",\"playerId\":\"" + req.getPlayerId() +
                         "\",\"choiceId\":" + req.getChoiceId() + "}"
         ));
-        game.setConversationList(history);
-
-        // compute counts
-        List<Voting> votes = votingRepository.findAllByRound_Id(round.getId());
-        Map<Integer, Long> counts = votes.stream()
-                .collect(Collectors.groupingBy(Voting::getChoiceId, Collectors.counting()));
-
-        VoteResultDto result = new VoteResultDto();
-        result.setAccepted(true);
-        result.setRoundNumber(round.getNumber());
-        result.setCounts(counts);
-
-        long expectedVotes = lobby.getMembers().size();
-        boolean completed = expectedVotes > 0 && votes.size() >= expectedVotes;
-        result.setRoundCompleted(completed);
 
-        // If round isn't complete yet, stop here (no AI call).
-        if (!completed) {
-            result.setNextDilemma(null);
-            return result;
-        }
-
-        // Round completed: ask AI for outcome JSON and append to conversation
-        List<Message> outcomeHistory = new ArrayList<>(game.getConversationList());
-        outcomeHistory.add(new Message("user", buildOutcomePrompt(round.getNumber(), counts)));
-
-        List<Message> updated = deepinfraService.chatConversion(outcomeHistory);
-        game.setConversationList(updated);
+        long expectedVotes = lobbyMemberRepository.countByLobby_Id(lobby.getId());
+        return new AcceptedVote(round.getId(), round.getNumber(), game.getMaxRounds(), expectedVotes);
+    }
 
-        // Parse outcome to extract summary
-        String outcomeSummary = parseOutcomeSummary(updated);
-        result.setOutcomeSummary(outcomeSummary);
+    /** Persists the AI results of a completed round: closes it and either opens the next round or ends the game. */
+    private void completeRound(UUID gameId, UUID roundId, int committedMessages, RoundTransition transition) {
+        Game game = gameRepository.findById(gameId).orElseThrow();
+        List<Message> conversation = transition.conversation();
+        game.appendMessages(conversation.subList(committedMessages, conversation.size()));
 
         // Close round
+        Round round = roundRepository.findById(roundId).orElseThrow();
         round.setActive(false);
+        round.setState(RoundState.COMPLETED);
 
         // End game if last round
-        if (round.getNumber() >= game.getMaxRounds()) {
+        if (transition.nextDilemma() == null) {
             game.setStatus(GameStatus.ENDED);
             game.setEndedAt(OffsetDateTime.now());
-            result.setNextDilemma(null);
-
-            // Notify all players that voting is complete (game ended)
-            gameWebSocketService.notifyVoteCompleted(gameId, result);
-            return result;
+            return;
         }
 
-        // Auto-create next round (optional; remove this if you want GM to trigger newRound manually)
-        DilemmaDto next = newRoundInternal(game, round.getNumber() + 1);
-        result.setNextDilemma(next);
-
-        // Notify all players that voting is complete and show outcome
-        gameWebSocketService.notifyVoteCompleted(gameId, result);
-
-        return result;
+        persistRound(game, round.getNumber() + 1, transition.nextDilemma());
     }
 
     /* -----------------------------
        Helpers
        ----------------------------- */
 
-    private String buildSystemContext(String themeName, int maxRounds) {
-        return """
-        You are the narrator for a dilemma voting game.
-
-        THEME: %s
-
-        CRITICAL OUTPUT RULE:
-        - You MUST reply with ONLY valid JSON.
-        - No markdown, no backticks, no extra text.
-
-        Use these schemas:
-
-        Intro:
-        {
-          "type": "intro",
-          "theme": string,
-          "message": string
-        }
-
-        Dilemma:
-        {
-          "type": "dilemma",
-          "id": number,
-          "title": string,
-          "context": string,
-          "choices": [
-            { "id": number, "title": string, "description": string }
-          ]
-        }
-        Rules: exactly 4 choices, concise text.
-
-        Outcome:
-        {
-          "type": "outcome",
-          "round": number,
-          "winningChoiceId": number,
-          "summary": string
-        }
-
-        The game has %d rounds total.
-        """.formatted(themeName, maxRounds);
+    /** Runs a short transaction on the game's mailbox (after all mutations submitted before it). */
+    private <T> CompletableFuture<T> inGame(UUID gameId, TransactionCallback<T> work) {
+        return gameMailbox.submit(gameId, () -> transactionTemplate.execute(work));
     }
 
-    private String buildNewRoundPrompt(int roundNumber, int maxRounds) {
-        return "Create the dilemma for round %d of %d. Respond with Dilemma JSON only."
-                .formatted(roundNumber, maxRounds);
+    /**
+     * Sends the history to the AI. When streaming is enabled, partial text is pushed to the game room
+     * as it is generated, so players see the first tokens instead of waiting for the full reply.
+     * A request for the same game, step, round and history that is already in flight is shared instead of sent again.
+     * Slow calls are hedged with a second, non-streaming request (see AiResilience).
+     */
+    private CompletableFuture<List<Message>> askAi(UUID gameId, String step, int roundNumber, List<Message> history) {
+        return aiSingleFlight.call(gameId, step + ":" + roundNumber, history, () -> aiResilience.call(step,
+                () -> aiScheduler.submit(gameId, AiPriority.INTERACTIVE, history, () -> {
+                    if (!deepinfraService.isStreamEnabled()) {
+                        return deepinfraService.chatConversionAsync(history);
+                    }
+                    return deepinfraService.chatConversionStreamingAsync(history, delta ->
+                            gameWebSocketService.notifyAiStream(gameId, new AiStreamChunkDto(step, roundNumber, delta)));
+                }),
+                () -> aiScheduler.submit(gameId, AiPriority.INTERACTIVE, history, () -> deepinfraService.chatConversionAsync(history))));
     }
 
-    private String buildOutcomePrompt(int roundNumber, Map<Integer, Long> counts) {
-        return """
-        The round %d voting has completed.
-        Vote counts: %s
+    /** Uses the AI reply if the call succeeded and the reply is usable, otherwise appends the locally built fallback reply. */
+    private CompletableFuture<List<Message>> withFallback(UUID gameId,
+                                                          String step,
+                                                          List<Message> history,
+                                                          CompletableFuture<List<Message>> reply,
+                                                          Predicate<List<Message>> usable,
+                                                          Supplier<String> fallback) {
+        return reply.handle((updated, ex) -> {
+            if (ex == null && usable.test(updated)) {
+                return updated;
+            }
+            log.warn("Using fallback {} for game {}: {}", step, gameId, ex != null ? ex.toString() : "unusable AI reply");
+            List<Message> withFallback = new ArrayList<>(history);
+            withFallback.add(new Message("assistant", fallback.get()));
+            return withFallback;
+        });
+    }
 
-        Produce Outcome JSON only (type="outcome"):
-        - round
-        - winningChoiceId
-        - summary (1-2 sentences)
-        """.formatted(roundNumber, counts);
+    private boolean isUsableDilemma(List<Message> updated) {
+        try {
+            DilemmaDto dilemma = parseDilemmaFromAi(updated);
+            return dilemma.getChoices() != null && !dilemma.getChoices().isEmpty();
+        } catch (IllegalStateException e) {
+            return false;
+        }
     }
 
-    private static String extractJson(String content) {
-        if (content == null) return "";
-        int start = content.indexOf("```");
-        if (start >= 0) {
-            int jsonStart = content.indexOf("{", start);
-            int endFence = content.indexOf("```", start + 3);
-            if (jsonStart >= 0 && endFence > jsonStart) {
-                return content.substring(jsonStart, endFence).trim();
-            }
+    private boolean isUsableOutcome(List<Message> updated) {
+        try {
+            return parseOutcomeSummary(updated) != null;
+        } catch (IllegalStateException e) {
+            return false;
         }
-        return content.trim();
     }
 
     private DilemmaDto parseDilemmaFromAi(List<Message> updated) {
         Message last = updated.get(updated.size() - 1);
-        String json = extractJson(last.getContent());
+        String json = GamePrompts.extractJson(last.getContent());
         try {
             return objectMapper.readValue(json, DilemmaDto.class);
         } catch (Exception e) {
@@ -351,7 +640,7 @@ public class GameService {
 
     private String parseOutcomeSummary(List<Message> updated) {
         Message last = updated.get(updated.size() - 1);
-        String json = extractJson(last.getContent());
+        String json = GamePrompts.extractJson(last.getContent());
         try {
             Map<String, Object> outcome = objectMapper.readValue(json, Map.class);
             return (String) outcome.get("summary");
@@ -363,67 +652,73 @@ public class GameService {
     /**
      * Get the final outcome of a completed game.
      * This includes all round summaries and a final AI-generated summary.
+     * The outcome is built once per game and shared: concurrent first requests wait for the same generation,
+     * and the AI summary is persisted, so it is generated only once per game. Failures are not cached.
      */
-    @Transactional
-    public FinalOutcomeDto getFinalOutcome(UUID gameId) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
-
-        if (game.getStatus() != GameStatus.ENDED) {
-            throw new IllegalStateException("Game is not yet completed. Current status: " + game.getStatus());
+    public CompletableFuture<FinalOutcomeDto> getFinalOutcome(UUID gameId) {
+        CompletableFuture<FinalOutcomeDto> created = new CompletableFuture<>();
+        CompletableFuture<FinalOutcomeDto> outcome = finalOutcomes.computeIfAbsent(gameId, id -> created);
+        if (outcome != created) {
+            return outcome;
         }
 
-        // Fetch all rounds for this game
-        List<Round> rounds = roundRepository.findAllByGame_IdOrderByNumberAsc(gameId);
-
-        // Build round summaries
-        List<FinalOutcomeDto.RoundSummary> roundSummaries = rounds.stream()
-                .map(round -> {
-                    List<Voting> votes = votingRepository.findAllByRound_Id(round.getId());
-                    Map<Integer, Long> counts = votes.stream()
-                            .collect(Collectors.groupingBy(Voting::getChoiceId, Collectors.counting()));
-
-                    // Determine winning choice (most votes)
-                    Integer winningChoiceId = counts.entrySet().stream()
-                            .max(Map.Entry.comparingByValue())
-                            .map(Map.Entry::getKey)
-                            .orElse(null);
-
-                    DilemmaDto dilemma = objectMapper.convertValue(round.getDilemma(), DilemmaDto.class);
-
-                    return FinalOutcomeDto.RoundSummary.builder()
-                            .roundNumber(round.getNumber())
-                            .dilemmaTitle(dilemma.getTitle())
-                            .voteCounts(counts)
-                            .winningChoiceId(winningChoiceId)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        buildFinalOutcome(gameId).whenComplete((dto, ex) -> {
+            if (ex != null) {
+                finalOutcomes.invalidate(gameId);
+                created.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            } else {
+                created.complete(dto);
+            }
+        });
+        return created;
+    }
 
-        // Calculate total votes by choice across all rounds
-        Map<Integer, Long> totalVotesByChoice = rounds.stream()
-                .flatMap(round -> votingRepository.findAllByRound_Id(round.getId()).stream())
-                .collect(Collectors.groupingBy(Voting::getChoiceId, Collectors.counting()));
+    private CompletableFuture<FinalOutcomeDto> buildFinalOutcome(UUID gameId) {
+        return inGame(gameId, status -> {
+            Game game = gameRepository.findById(gameId)
+                    .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
 
-        // Generate final summary from AI
-        String finalSummary = generateFinalSummary(game, roundSummaries);
+            if (game.getStatus() != GameStatus.ENDED) {
+                throw new IllegalStateException("Game is not yet completed. Current status: " + game.getStatus());
+            }
 
-        return FinalOutcomeDto.builder()
-                .gameId(gameId.toString())
-                .totalRounds(game.getMaxRounds())
-                .finalSummary(finalSummary)
-                .roundSummaries(roundSummaries)
-                .totalVotesByChoice(totalVotesByChoice)
-                .build();
+            // one query for the rounds (titles), one grouped query for all vote counts of the game
+            List<Round> rounds = roundRepository.findAllByGame_IdOrderByNumberAsc(gameId);
+            Map<Integer, Map<Integer, Long>> countsByRound =
+                    OutcomeAssembler.countsByRound(votingRepository.countVotesByRoundAndChoice(gameId));
+
+            List<FinalOutcomeDto.RoundSummary> roundSummaries = rounds.stream()
+                    .map(round -> OutcomeAssembler.roundSummary(
+                            round.getNumber(),
+                            objectMapper.convertValue(round.getDilemma(), DilemmaDto.class).getTitle(),
+                            countsByRound.getOrDefault(round.getNumber(), Map.of())))
+                    .collect(Collectors.toList());
+
+            Map<Integer, Long> totalVotesByChoice = OutcomeAssembler.totals(countsByRound);
+
+            // the conversation is only needed if the summary still has to be generated
+            List<Message> conversation = game.getFinalSummary() == null ? game.getConversationList() : List.of();
+            return new OutcomeSnapshot(game.getMaxRounds(), roundSummaries, totalVotesByChoice, game.getFinalSummary(), conversation);
+        }).thenCompose(snapshot -> (snapshot.finalSummary() != null
+                        ? CompletableFuture.completedFuture(snapshot.finalSummary())
+                        // Generate final summary from AI (only the first time)
+                        : generateFinalSummary(gameId, snapshot))
+                .thenApply(finalSummary -> FinalOutcomeDto.builder()
+                        .gameId(gameId.toString())
+                        .totalRounds(snapshot.maxRounds())
+                        .finalSummary(finalSummary)
+                        .roundSummaries(snapshot.roundSummaries())
+                        .totalVotesByChoice(snapshot.totalVotesByChoice())
+                        .build()));
     }
 
-    private String generateFinalSummary(Game game, List<FinalOutcomeDto.RoundSummary> roundSummaries) {
+    private CompletableFuture<String> generateFinalSummary(UUID gameId, OutcomeSnapshot snapshot) {
         // Build a prompt for the AI to generate a final summary
         StringBuilder prompt = new StringBuilder();
-        prompt.append("The game has ended after ").append(game.getMaxRounds()).append(" rounds.\n\n");
+        prompt.append("The game has ended after ").append(snapshot.maxRounds()).append(" rounds.\n\n");
         prompt.append("Round summaries:\n");
 
-        for (FinalOutcomeDto.RoundSummary summary : roundSummaries) {
+        for (FinalOutcomeDto.RoundSummary summary : snapshot.roundSummaries()) {
             prompt.append("- Round ").append(summary.getRoundNumber())
                     .append(": ").append(summary.getDilemmaTitle())
                     .append(" (Winning choice: ").append(summary.getWinningChoiceId()).append(")\n");
@@ -432,21 +727,57 @@ public class GameService {
         prompt.append("\nProvide a final summary of the game's outcome (2-3 sentences) in JSON format:\n");
         prompt.append("{\"type\":\"final\",\"summary\":\"...\"}");
 
-        List<Message> history = new ArrayList<>(game.getConversationList());
+        List<Message> history = new ArrayList<>(snapshot.conversation());
         history.add(new Message("user", prompt.toString()));
 
-        List<Message> updated = deepinfraService.chatConversion(history);
-        game.setConversationList(updated);
+        String fallback = "The game has concluded after " + snapshot.maxRounds() + " rounds of decision-making.";
+        return aiSingleFlight.call(gameId, STEP_FINAL, history, () -> aiResilience.call(STEP_FINAL,
+                        () -> aiScheduler.submit(gameId, AiPriority.BACKGROUND, history, () -> deepinfraService.chatConversionAsync(history)),
+                        null))
+                .handle((updated, ex) -> {
+                    if (ex != null) log.warn("Final summary for game {} failed, using fallback: {}", gameId, ex.toString());
+                    return ex == null ? updated : null;
+                })
+                .thenCompose(updated -> updated == null ? CompletableFuture.completedFuture(fallback) : inGame(gameId, status -> {
+                    String summary = parseFinalSummary(updated);
+                    gameRepository.findById(gameId).ifPresent(game -> {
+                        game.appendMessages(updated.subList(snapshot.conversation().size(), updated.size()));
+                        // only a real summary is stored; after a fallback it is generated again once the cached outcome expires
+                        if (summary != null) game.setFinalSummary(summary);
+                    });
+                    return summary != null ? summary : fallback;
+                }));
+    }
 
-        // Parse the final summary
+    /** The summary from the AI's final reply, or null if the reply is not valid JSON. */
+    private String parseFinalSummary(List<Message> updated) {
         Message last = updated.get(updated.size() - 1);
-        String json = extractJson(last.getContent());
+        String json = GamePrompts.extractJson(last.getContent());
         try {
             Map<String, Object> finalOutcome = objectMapper.readValue(json, Map.class);
             return (String) finalOutcome.get("summary");
         } catch (Exception e) {
-            // Fallback if AI fails
-            return "The game has concluded after " + game.getMaxRounds() + " rounds of decision-making.";
+            return null;
         }
     }
+
+    /* -----------------------------
+       Snapshots handed from the first (short) transaction to the async AI step
+       ----------------------------- */
+
+    private record GameSnapshot(UUID themeId, String themeName, int maxRounds, int roundNumber, List<Message> conversation) {}
+
+    private record AcceptedVote(UUID roundId, int roundNumber, int maxRounds, long expectedVotes) {}
+
+    private record CountedVote(AcceptedVote accepted, VoteResultDto result) {}
+
+    private record VoteSnapshot(VoteResultDto result, UUID roundId, int maxRounds, List<Message> conversation) {}
+
+    private record RoundTransition(List<Message> conversation, DilemmaDto nextDilemma) {}
+
+    private record OutcomeSnapshot(int maxRounds,
+                                   List<FinalOutcomeDto.RoundSummary> roundSummaries,
+                                   Map<Integer, Long> totalVotesByChoice,
+                                   String finalSummary,
+                                   List<Message> conversation) {}
 }
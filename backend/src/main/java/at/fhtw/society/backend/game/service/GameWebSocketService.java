@@ -1,7 +1,8 @@
 package at.fhtw.society.backend.game.service;
 
+import at.fhtw.society.backend.common.socket.RoomBroadcaster;
+import at.fhtw.society.backend.game.dto.AiStreamChunkDto;
 import at.fhtw.society.backend.game.dto.VoteResultDto;
-import com.corundumstudio.socketio.SocketIOServer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -12,16 +13,21 @@ import java.util.UUID;
 public class GameWebSocketService {
 
     private static final String EVENT_VOTE_COMPLETED = "voteCompleted";
+    private static final String EVENT_AI_STREAM = "aiStream";
 
-    private final SocketIOServer server;
+    private final RoomBroadcaster roomBroadcaster;
+    private final GameEventBuffer gameEventBuffer;
 
-    public GameWebSocketService(SocketIOServer server) {
-        this.server = server;
+    public GameWebSocketService(RoomBroadcaster roomBroadcaster, GameEventBuffer gameEventBuffer) {
+        this.roomBroadcaster = roomBroadcaster;
+        this.gameEventBuffer = gameEventBuffer;
     }
 
     /**
      * Notifies all players in a game that voting has completed for the current round.
      * Sends the vote result including outcome summary and next dilemma.
+     * The event gets the room's next sequence number and is buffered for replay to reconnecting clients.
+     * The seq goes on a copy: the passed result is also the HTTP response of the vote and may be shared.
      *
      * @param gameId - ID of the game
      * @param voteResult - The voting result with outcome and next dilemma
@@ -29,11 +35,24 @@ public class GameWebSocketService {
     public void notifyVoteCompleted(UUID gameId, VoteResultDto voteResult) {
         // Use game ID as the room name for broadcasting
         String roomName = "game:" + gameId.toString();
-        server.getRoomOperations(roomName).sendEvent(EVENT_VOTE_COMPLETED, voteResult);
+        gameEventBuffer.publish(gameId, EVENT_VOTE_COMPLETED, voteResult::withSeq,
+                (event, payload) -> roomBroadcaster.send(roomName, event, payload));
         log.info("Vote completed notification sent to game {}: round={}, completed={}",
                 gameId, voteResult.getRoundNumber(), voteResult.isRoundCompleted());
     }
 
+    /**
+     * Forwards a partial AI reply (dilemma or outcome) to all players of a game while it is generated.
+     * The complete message is still delivered via the regular REST/voteCompleted flow.
+     *
+     * @param gameId - ID of the game
+     * @param chunk - The newly generated text fragment
+     */
+    public void notifyAiStream(UUID gameId, AiStreamChunkDto chunk) {
+        String roomName = "game:" + gameId.toString();
+        roomBroadcaster.send(roomName, EVENT_AI_STREAM, chunk);
+    }
+
     /**
      * Adds a client to a game room so they can receive game events.
      * This should be called when a player joins/connects to a game.
@@ -0,0 +1,55 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.game.dto.FinalOutcomeDto;
+import at.fhtw.society.backend.game.repo.ChoiceCountRow;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Builds outcome data from plain vote counts (choiceId -> votes), independent of how they were counted
+ * (aggregate query, in-memory round tally, ...).
+ * The winner of a round is the choice with the most votes; ties go to the lowest choice id.
+ */
+final class OutcomeAssembler {
+
+    private OutcomeAssembler() {
+    }
+
+    /** Groups aggregated rows into roundNumber -> (choiceId -> votes). */
+    static Map<Integer, Map<Integer, Long>> countsByRound(List<ChoiceCountRow> rows) {
+        Map<Integer, Map<Integer, Long>> countsByRound = new TreeMap<>();
+        for (ChoiceCountRow row : rows) {
+            countsByRound.computeIfAbsent(row.getRoundNumber(), n -> new TreeMap<>())
+                    .merge(row.getChoiceId(), row.getVotes(), Long::sum);
+        }
+        return countsByRound;
+    }
+
+    /** Sums the per-round counts into choiceId -> votes over the whole game. */
+    static Map<Integer, Long> totals(Map<Integer, Map<Integer, Long>> countsByRound) {
+        Map<Integer, Long> totals = new TreeMap<>();
+        countsByRound.values().forEach(counts -> counts.forEach((choiceId, votes) -> totals.merge(choiceId, votes, Long::sum)));
+        return totals;
+    }
+
+    /** The winning choice, or empty if there were no votes. */
+    static Optional<Integer> winningChoiceId(Map<Integer, Long> counts) {
+        return counts.entrySet().stream()
+                .max(Map.Entry.<Integer, Long>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey);
+    }
+
+    static FinalOutcomeDto.RoundSummary roundSummary(int roundNumber, String dilemmaTitle, Map<Integer, Long> counts) {
+        return FinalOutcomeDto.RoundSummary.builder()
+                .roundNumber(roundNumber)
+                .dilemmaTitle(dilemmaTitle)
+                .voteCounts(counts)
+                .winningChoiceId(winningChoiceId(counts).orElse(null))
+                .build();
+    }
+}
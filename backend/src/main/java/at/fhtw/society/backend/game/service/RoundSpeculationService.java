@@ -0,0 +1,143 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.ai.AiPriority;
+import at.fhtw.society.backend.ai.AiResilience;
+import at.fhtw.society.backend.ai.AiScheduler;
+import at.fhtw.society.backend.ai.DeepinfraService;
+import at.fhtw.society.backend.ai.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pre-generates the outcome and the next dilemma while players are still voting.
+ * As soon as a round opens, one branch per possible winning choice is requested from the AI in parallel.
+ * When voting ends, only the branch of the actual winner is handed out; all others are discarded.
+ */
+@Slf4j
+@Service
+public class RoundSpeculationService {
+
+    private static final String STEP_SPECULATION = "speculation";
+
+    private final DeepinfraService deepinfraService;
+    private final AiScheduler aiScheduler;
+    private final AiResilience aiResilience;
+    private final boolean enabled;
+
+    // gameId -> speculation for the game's currently open round
+    private final ConcurrentHashMap<UUID, Speculation> speculations = new ConcurrentHashMap<>();
+
+    public RoundSpeculationService(DeepinfraService deepinfraService,
+                                   AiScheduler aiScheduler,
+                                   AiResilience aiResilience,
+                                   @Value("${game.speculation.enabled:true}") boolean enabled) {
+        this.deepinfraService = deepinfraService;
+        this.aiScheduler = aiScheduler;
+        this.aiResilience = aiResilience;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts one branch per choice for the round that has just been opened.
+     * @param conversation - conversation up to (and including) the round's dilemma
+     * @param nextDilemmaPrompt - prompt for the following round, or null if this is the last round
+     */
+    public void start(UUID gameId,
+                      int roundNumber,
+                      List<Integer> choiceIds,
+                      List<Message> conversation,
+                      OutcomePromptFactory outcomePrompt,
+                      String nextDilemmaPrompt) {
+        if (!enabled || choiceIds.isEmpty()) return;
+
+        List<Message> base = List.copyOf(conversation);
+        Map<Integer, CompletableFuture<List<Message>>> branches = new HashMap<>();
+        for (Integer choiceId : choiceIds) {
+            branches.put(choiceId, generateBranch(gameId, base, outcomePrompt.forWinner(choiceId), nextDilemmaPrompt));
+        }
+
+        Speculation previous = speculations.put(gameId, new Speculation(roundNumber, branches));
+        if (previous != null) previous.cancel();
+        log.debug("Started {} speculative branches for game {} round {}", branches.size(), gameId, roundNumber);
+    }
+
+    /**
+     * Hands out the branch matching the winning choice and discards the others.
+     * The returned messages are only the ones generated on top of the speculation's base conversation:
+     * [outcome prompt, outcome] or [outcome prompt, outcome, dilemma prompt, dilemma].
+     */
+    public Optional<CompletableFuture<List<Message>>> take(UUID gameId, int roundNumber, int winningChoiceId) {
+        Speculation speculation = speculations.remove(gameId);
+        if (speculation == null) return Optional.empty();
+        if (speculation.roundNumber() != roundNumber) {
+            speculation.cancel();
+            return Optional.empty();
+        }
+
+        CompletableFuture<List<Message>> branch = speculation.branches().remove(winningChoiceId);
+        speculation.cancel();
+        return Optional.ofNullable(branch);
+    }
+
+    /** Drops any speculation for the game, e.g. when a round is opened manually. */
+    public void discard(UUID gameId) {
+        Speculation speculation = speculations.remove(gameId);
+        if (speculation != null) speculation.cancel();
+    }
+
+    private CompletableFuture<List<Message>> generateBranch(UUID gameId, List<Message> base, String outcomePrompt, String nextDilemmaPrompt) {
+        List<Message> outcomeHistory = new ArrayList<>(base);
+        outcomeHistory.add(new Message("user", outcomePrompt));
+
+        // the request of the branch that is currently queued or running at the AI scheduler
+        AtomicReference<CompletableFuture<List<Message>>> current = new AtomicReference<>();
+        CompletableFuture<List<Message>> branch = speculate(gameId, outcomeHistory, current);
+        if (nextDilemmaPrompt != null) {
+            branch = branch.thenCompose(afterOutcome -> {
+                List<Message> dilemmaHistory = new ArrayList<>(afterOutcome);
+                dilemmaHistory.add(new Message("user", nextDilemmaPrompt));
+                return speculate(gameId, dilemmaHistory, current);
+            });
+        }
+        CompletableFuture<List<Message>> result = branch.thenApply(full -> List.copyOf(full.subList(base.size(), full.size())));
+
+        // a discarded branch also drops its request if it is still waiting at the scheduler
+        result.whenComplete((ignored, ex) -> {
+            CompletableFuture<List<Message>> request = current.get();
+            if (result.isCancelled() && request != null) request.cancel(false);
+        });
+        return result;
+    }
+
+    private CompletableFuture<List<Message>> speculate(UUID gameId, List<Message> history,
+                                                      AtomicReference<CompletableFuture<List<Message>>> current) {
+        // timeouts and the circuit breaker apply (an open circuit queues nothing); a failed branch just falls back
+        // to live generation
+        return aiResilience.call(STEP_SPECULATION, () -> {
+            CompletableFuture<List<Message>> request = aiScheduler.submit(gameId, AiPriority.SPECULATIVE, history,
+                    () -> deepinfraService.chatConversionAsync(history));
+            current.set(request);
+            return request;
+        }, null);
+    }
+
+    /** Builds the outcome prompt of a round for a given winning choice. */
+    @FunctionalInterface
+    public interface OutcomePromptFactory {
+        String forWinner(int winningChoiceId);
+    }
+
+    private record Speculation(int roundNumber, Map<Integer, CompletableFuture<List<Message>>> branches) {
+        void cancel() {
+            // The HTTP requests are not aborted, but no one will wait for their results anymore
+            branches.values().forEach(branch -> branch.cancel(false));
+            branches.clear();
+        }
+    }
+}
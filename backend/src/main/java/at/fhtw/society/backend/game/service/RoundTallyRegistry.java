@@ -0,0 +1,78 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.game.repo.VoteRow;
+import at.fhtw.society.backend.game.repo.VotingRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory vote counts of the rounds that are currently being voted on.
+ * Votes are still written to the DB (write-through), but counting and the double-vote check use the tally,
+ * so accepting a vote is O(1) instead of loading every Voting of the round.
+ * A tally that is not in memory (e.g. after a restart) is rebuilt from the DB on first access.
+ */
+@Component
+public class RoundTallyRegistry {
+
+    private final VotingRepository votingRepository;
+
+    private final ConcurrentHashMap<UUID, RoundTally> tallies = new ConcurrentHashMap<>();
+
+    public RoundTallyRegistry(VotingRepository votingRepository) {
+        this.votingRepository = votingRepository;
+    }
+
+    public RoundTally tallyFor(UUID roundId) {
+        return tallies.computeIfAbsent(roundId, this::rebuild);
+    }
+
+    /** Drops the tally of a round that has been completed. */
+    public void evict(UUID roundId) {
+        tallies.remove(roundId);
+    }
+
+    private RoundTally rebuild(UUID roundId) {
+        RoundTally tally = new RoundTally();
+        for (VoteRow row : votingRepository.findVoteRowsByRoundId(roundId)) {
+            tally.record(row.getPlayerId(), row.getChoiceId());
+        }
+        return tally;
+    }
+
+    public static final class RoundTally {
+        private final Set<UUID> voters = ConcurrentHashMap.newKeySet();
+        private final ConcurrentHashMap<Integer, LongAdder> counts = new ConcurrentHashMap<>();
+
+        /**
+         * Counts the vote once per player. Recording the same player again is a no-op,
+         * so a vote that is already part of a rebuilt tally is not counted twice.
+         * @return true if the vote was counted
+         */
+        public boolean record(UUID playerId, int choiceId) {
+            if (!voters.add(playerId)) return false;
+            counts.computeIfAbsent(choiceId, id -> new LongAdder()).increment();
+            return true;
+        }
+
+        public boolean hasVoted(UUID playerId) {
+            return voters.contains(playerId);
+        }
+
+        public int totalVotes() {
+            return voters.size();
+        }
+
+        /** Snapshot of choiceId -> number of votes. */
+        public Map<Integer, Long> counts() {
+            Map<Integer, Long> snapshot = new TreeMap<>();
+            counts.forEach((choiceId, count) -> snapshot.put(choiceId, count.sum()));
+            return snapshot;
+        }
+    }
+}
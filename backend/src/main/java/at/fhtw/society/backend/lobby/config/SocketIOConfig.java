@@ -1,13 +1,29 @@
 package at.fhtw.society.backend.lobby.config;
 
+import at.fhtw.society.backend.common.concurrent.KeyedSerialExecutor;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.store.MemoryStoreFactory;
+import com.corundumstudio.socketio.store.RedissonStoreFactory;
+import com.corundumstudio.socketio.store.StoreFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
+@Slf4j
 @Component
 public class SocketIOConfig {
 
@@ -17,8 +33,20 @@ public class SocketIOConfig {
     @Value("${socketio.port:9092}")
     private Integer port;
 
+    @Value("${socketio.executor.core-size:4}")
+    private int executorCoreSize;
+
+    @Value("${socketio.executor.max-size:16}")
+    private int executorMaxSize;
+
+    @Value("${socketio.executor.queue-capacity:1000}")
+    private int executorQueueCapacity;
+
+    @Value("${socketio.redis.address:redis://localhost:6379}")
+    private String redisAddress;
+
     @Bean
-    public SocketIOServer socketIOServer() {
+    public SocketIOServer socketIOServer(StoreFactory socketStoreFactory) {
         Configuration config = new Configuration();
         config.setHostname(host);
         config.setPort(port);
@@ -33,6 +61,61 @@ public class SocketIOConfig {
         // Configure Jackson to support Java 8 date/time types
         config.setJsonSupport(new com.corundumstudio.socketio.protocol.JacksonJsonSupport(new JavaTimeModule()));
 
+        // room joins/leaves and broadcasts go through the store (in memory, or Redis pub/sub with socketio.store=redis)
+        config.setStoreFactory(socketStoreFactory);
+
         return new SocketIOServer(config);
     }
+
+    /**
+     * Redis connection for the Socket.IO store, only with socketio.store=redis.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "socketio.store", havingValue = "redis")
+    public RedissonClient socketRedissonClient() {
+        log.warn("socketio.store=redis only shares Socket.IO broadcasts; game and lobby state stays in this JVM, "
+                + "so running more than one backend node is not supported");
+        Config config = new Config();
+        config.useSingleServer().setAddress(redisAddress);
+        return Redisson.create(config);
+    }
+
+    /**
+     * Store/pub-sub used by the Socket.IO server:
+     * - socketio.store=memory (default): everything stays in this JVM (also used by tests and compose)
+     * - socketio.store=redis: Redis-backed socket broadcast; room broadcasts are also published via Redis
+     * The backend is a single-node application either way. The Redis store only covers socket broadcasts;
+     * game and lobby state is kept per JVM (gameMailbox, RoundTallyRegistry, GameEventBuffer, LobbyListCache,
+     * QuickJoinIndex) and there is no routing of a game or lobby to "its" node, so more than one backend
+     * node is not supported.
+     */
+    @Bean
+    public StoreFactory socketStoreFactory(ObjectProvider<RedissonClient> socketRedissonClient) {
+        RedissonClient redisson = socketRedissonClient.getIfAvailable();
+        return redisson != null ? new RedissonStoreFactory(redisson) : new MemoryStoreFactory();
+    }
+
+    /**
+     * Runs the socket event handlers (they query the DB) so they never block netty's event loops.
+     * The queue is bounded; when it is full, events are rejected and the client gets an error.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor socketTaskExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(executorCoreSize);
+        executor.setMaxPoolSize(executorMaxSize);
+        executor.setQueueCapacity(executorQueueCapacity);
+        executor.setThreadNamePrefix("socket-");
+        executor.initialize();
+
+        Gauge.builder("socketio.handler.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /** Keeps the events of one client (session) in order while they run on socketTaskExecutor. */
+    @Bean
+    public KeyedSerialExecutor<UUID> socketMailbox(ThreadPoolTaskExecutor socketTaskExecutor) {
+        return new KeyedSerialExecutor<>(socketTaskExecutor);
+    }
 }
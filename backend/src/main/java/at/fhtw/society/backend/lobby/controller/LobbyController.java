@@ -4,11 +4,18 @@ import at.fhtw.society.backend.game.service.GameService;
 import at.fhtw.society.backend.lobby.dto.CreateLobbyRequestDto;
 import at.fhtw.society.backend.lobby.dto.JoinLobbyRequestDto;
 import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.dto.LobbyListSnapshotDto;
+import at.fhtw.society.backend.lobby.dto.LobbyPageDto;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.repo.LobbyListFilter;
 import at.fhtw.society.backend.lobby.dto.LobbyViewDto;
+import at.fhtw.society.backend.lobby.dto.QuickJoinRequestDto;
 import at.fhtw.society.backend.lobby.service.LobbyCommandService;
 import at.fhtw.society.backend.lobby.service.LobbyQueryService;
+import at.fhtw.society.backend.lobby.service.QuickJoinService;
 import at.fhtw.society.backend.security.jwt.JwtService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -18,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/lobbies")
@@ -27,17 +35,48 @@ public class LobbyController {
     private final JwtService jwtService;
     private final LobbyCommandService lobbyCommandService;
     private final GameService gameService;
+    private final QuickJoinService quickJoinService;
 
-    public LobbyController(LobbyQueryService lobbyQueryService, JwtService jwtService, LobbyCommandService lobbyCommandService, GameService gameService) {
+    public LobbyController(LobbyQueryService lobbyQueryService, JwtService jwtService, LobbyCommandService lobbyCommandService, GameService gameService, QuickJoinService quickJoinService) {
         this.lobbyQueryService = lobbyQueryService;
         this.jwtService = jwtService;
         this.lobbyCommandService = lobbyCommandService;
         this.gameService = gameService;
+        this.quickJoinService = quickJoinService;
     }
 
+    /**
+     * Serves the in-memory lobby list. The snapshot version is the ETag, so polling clients get
+     * 304 Not Modified until the list changes. Live updates are available on the "lobbyList" socket channel.
+     */
     @GetMapping
-    public ResponseEntity<List<LobbyListItemDto>> getLobbies() {
-        return ResponseEntity.ok(lobbyQueryService.getLobbyList());
+    public ResponseEntity<List<LobbyListItemDto>> getLobbies(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        LobbyListSnapshotDto snapshot = lobbyQueryService.getLobbyListSnapshot();
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot.getLobbies());
+    }
+
+    /**
+     * Paginated, filterable lobby list (keyset pagination on name + id).
+     * Without a status filter only OPEN lobbies are listed.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<LobbyPageDto> getLobbyPage(
+            @RequestParam(defaultValue = "OPEN") LobbyStatus status,
+            @RequestParam(required = false) UUID themeId,
+            @RequestParam(required = false) Boolean hasPassword,
+            @RequestParam(required = false) Boolean hasFreeSeats,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        LobbyListFilter filter = new LobbyListFilter(status, themeId, hasPassword, hasFreeSeats, search);
+        return ResponseEntity.ok(lobbyQueryService.getLobbyPage(filter, after, limit));
     }
 
     @PostMapping
@@ -51,14 +90,28 @@ public class LobbyController {
     }
 
     @PostMapping("/{lobbyId}/join")
-    public ResponseEntity<LobbyViewDto> joinLobby(
+    public CompletableFuture<ResponseEntity<LobbyViewDto>> joinLobby(
             @AuthenticationPrincipal Jwt jwt,
             @PathVariable UUID lobbyId,
             @Valid @RequestBody(required = false) JoinLobbyRequestDto request
     ) {
         var identity = jwtService.toPlayerIdentity(jwt);
-        LobbyViewDto view = lobbyCommandService.joinLobby(lobbyId, request, identity);
-        return ResponseEntity.status(HttpStatus.OK).body(view);
+        return lobbyCommandService.joinLobby(lobbyId, request, identity)
+                .thenApply(view -> ResponseEntity.status(HttpStatus.OK).body(view));
+    }
+
+    /**
+     * Joins an open lobby without password that has a free seat (optionally of the given theme),
+     * or creates a new one with the player as gamemaster.
+     */
+    @PostMapping("/quick-join")
+    public CompletableFuture<ResponseEntity<LobbyViewDto>> quickJoin(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestBody(required = false) QuickJoinRequestDto request
+    ) {
+        var identity = jwtService.toPlayerIdentity(jwt);
+        UUID themeId = request == null ? null : request.getThemeId();
+        return quickJoinService.quickJoin(themeId, identity).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/{lobbyId}/leave")
@@ -72,7 +125,7 @@ public class LobbyController {
     }
 
     @PostMapping("/{lobbyId}/start")
-    public ResponseEntity<Object> startGame(
+    public CompletableFuture<ResponseEntity<Object>> startGame(
             @AuthenticationPrincipal Jwt jwt,
             @PathVariable UUID lobbyId
     ) {
@@ -83,11 +136,11 @@ public class LobbyController {
 
         // Create and start the game
         UUID gameId = gameService.createGame(lobbyId);
-        gameService.startGame(gameId);
-
-        // Notify all lobby members via WebSocket that the game has started
-        lobbyCommandService.notifyGameStarted(lobbyId, gameId);
+        return gameService.startGame(gameId).thenApply(v -> {
+            // Notify all lobby members via WebSocket that the game has started
+            lobbyCommandService.notifyGameStarted(lobbyId, gameId);
 
-        return ResponseEntity.ok(Map.of("status", "success", "data", Map.of("gameId", gameId)));
+            return ResponseEntity.ok(Map.of("status", "success", "data", Map.of("gameId", gameId)));
+        });
     }
 }
@@ -0,0 +1,36 @@
+package at.fhtw.society.backend.lobby.dto;
+
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * One change of the lobby list, applied by clients on top of a snapshot.
+ * type:
+ * - "created": lobby contains the new entry
+ * - "playersCount": playersCount contains the new number of players
+ * - "status": status contains the new status
+ * - "deleted": the lobby was removed
+ * A client that sees a version gap should subscribe again to get a fresh snapshot.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LobbyListDeltaDto {
+
+    public static final String CREATED = "created";
+    public static final String PLAYERS_COUNT = "playersCount";
+    public static final String STATUS = "status";
+    public static final String DELETED = "deleted";
+
+    private final long version;
+    private final String type;
+    private final UUID lobbyId;
+
+    private final LobbyListItemDto lobby;
+    private final Integer playersCount;
+    private final LobbyStatus status;
+}
@@ -12,7 +12,7 @@ import java.util.UUID;
  * Contains only the necessary information to display a list of lobbies.
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class LobbyListItemDto {
 
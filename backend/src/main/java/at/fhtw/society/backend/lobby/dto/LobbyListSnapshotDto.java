@@ -0,0 +1,17 @@
+package at.fhtw.society.backend.lobby.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Full lobby list at a given version.
+ * Sent once to a client that subscribes to the lobby list; deltas with a higher version follow.
+ */
+@Getter
+@AllArgsConstructor
+public class LobbyListSnapshotDto {
+    private final long version;
+    private final List<LobbyListItemDto> lobbies;
+}
@@ -0,0 +1,19 @@
+package at.fhtw.society.backend.lobby.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the lobby list.
+ * nextCursor is passed as "after" to get the next page; it is missing on the last page.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LobbyPageDto {
+    private final List<LobbyListItemDto> lobbies;
+    private final String nextCursor;
+}
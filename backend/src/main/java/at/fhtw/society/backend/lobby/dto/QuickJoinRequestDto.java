@@ -0,0 +1,16 @@
+package at.fhtw.society.backend.lobby.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class QuickJoinRequestDto {
+
+    // optional: only lobbies with this theme (any theme if null)
+    private UUID themeId;
+}
@@ -5,6 +5,7 @@ import at.fhtw.society.backend.game.entity.Player;
 import at.fhtw.society.backend.game.entity.Theme;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,7 +17,17 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "lobby")
+// only changed columns are written, so entity updates never overwrite seats_taken (maintained by conditional UPDATEs)
+@DynamicUpdate
+@Table(
+        name = "lobby",
+        // keyset pagination of the lobby list: ORDER BY name, id with optional status / theme filter
+        indexes = {
+                @Index(name = "idx_lobby_name_id", columnList = "name, id"),
+                @Index(name = "idx_lobby_status_name_id", columnList = "status, name, id"),
+                @Index(name = "idx_lobby_theme_name_id", columnList = "theme_id, name, id")
+        }
+)
 public class Lobby {
 
     @Id
@@ -45,6 +56,14 @@ public class Lobby {
     @Column(nullable = false)
     private int maxRounds;
 
+    /**
+     * Number of members, kept by conditional UPDATEs (see LobbyRepository.takeSeat) so capacity is enforced
+     * without locking the row or loading the members. Reconciled with lobby_members on startup.
+     */
+    @Builder.Default
+    @Column(name = "seats_taken", nullable = false, columnDefinition = "integer default 0")
+    private int seatsTaken = 0;
+
     @Column(length = 255)
     private String passwordHash;
 
@@ -0,0 +1,10 @@
+package at.fhtw.society.backend.lobby.event;
+
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+
+/**
+ * Published by LobbyCommandService when a lobby (including its creator as first member) has been created.
+ * @param lobby - the new lobby as it appears in the lobby list
+ */
+public record LobbyCreatedEvent(LobbyListItemDto lobby) {
+}
@@ -0,0 +1,29 @@
+package at.fhtw.society.backend.lobby.event;
+
+import java.util.UUID;
+
+/**
+ * Published by LobbyCommandService when the members of a lobby change.
+ * Listeners should use @TransactionalEventListener so they only see committed changes.
+ * @param lobbyId - ID of the lobby
+ * @param playerId - ID of the player who joined or left (null for LOBBY_DELETED)
+ * @param kind - what happened
+ */
+public record LobbyMembershipEvent(UUID lobbyId, UUID playerId, Kind kind) {
+
+    public enum Kind {
+        JOINED, LEFT, LOBBY_DELETED
+    }
+
+    public static LobbyMembershipEvent joined(UUID lobbyId, UUID playerId) {
+        return new LobbyMembershipEvent(lobbyId, playerId, Kind.JOINED);
+    }
+
+    public static LobbyMembershipEvent left(UUID lobbyId, UUID playerId) {
+        return new LobbyMembershipEvent(lobbyId, playerId, Kind.LEFT);
+    }
+
+    public static LobbyMembershipEvent lobbyDeleted(UUID lobbyId) {
+        return new LobbyMembershipEvent(lobbyId, null, Kind.LOBBY_DELETED);
+    }
+}
@@ -0,0 +1,13 @@
+package at.fhtw.society.backend.lobby.event;
+
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+
+import java.util.UUID;
+
+/**
+ * Published when the status of a lobby changes (e.g. OPEN -> IN_GAME when its game is created).
+ * @param lobbyId - ID of the lobby
+ * @param status - the new status
+ */
+public record LobbyStatusChangedEvent(UUID lobbyId, LobbyStatus status) {
+}
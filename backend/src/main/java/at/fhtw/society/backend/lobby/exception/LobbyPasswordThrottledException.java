@@ -0,0 +1,16 @@
+package at.fhtw.society.backend.lobby.exception;
+
+import at.fhtw.society.backend.common.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+public class LobbyPasswordThrottledException extends ApiException {
+
+    private static final String TYPE_URI = "https://example.com/probs/lobby-password-throttled";
+    private static final String TITLE = "Too Many Password Attempts";
+
+    public LobbyPasswordThrottledException(UUID lobbyId) {
+        super(HttpStatus.TOO_MANY_REQUESTS, TYPE_URI, TITLE, "Too many password attempts for lobby " + lobbyId + ", please try again later");
+    }
+}
@@ -0,0 +1,14 @@
+package at.fhtw.society.backend.lobby.exception;
+
+import at.fhtw.society.backend.common.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class QuickJoinUnavailableException extends ApiException {
+
+    private static final String TYPE_URI = "https://example.com/probs/quick-join-unavailable";
+    private static final String TITLE = "Quick Join Unavailable";
+
+    public QuickJoinUnavailableException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, TYPE_URI, TITLE, "No lobby could be joined or created right now, please try again");
+    }
+}
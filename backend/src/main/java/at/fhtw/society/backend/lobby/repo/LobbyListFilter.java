@@ -0,0 +1,16 @@
+package at.fhtw.society.backend.lobby.repo;
+
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+
+import java.util.UUID;
+
+/**
+ * Filters for the paginated lobby list. A null value means "do not filter on this".
+ * @param status - only lobbies with this status
+ * @param themeId - only lobbies with this theme
+ * @param hasPassword - only protected (true) or only open (false) lobbies
+ * @param hasFreeSeats - only lobbies that can (true) or cannot (false) take another player
+ * @param search - case-insensitive part of the lobby name
+ */
+public record LobbyListFilter(LobbyStatus status, UUID themeId, Boolean hasPassword, Boolean hasFreeSeats, String search) {
+}
@@ -2,6 +2,7 @@ package at.fhtw.society.backend.lobby.repo;
 
 import at.fhtw.society.backend.lobby.entity.LobbyMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +21,7 @@ public interface LobbyMemberRepository extends JpaRepository<LobbyMember, UUID>
     boolean existsByPlayerId(UUID playerId);
     // to check if a player is in a specific lobby
     boolean existsByLobby_IdAndPlayerId(UUID lobbyId, UUID playerId);
+    // player ids of all members of a lobby (membership index, without loading the entities)
+    @Query("SELECT m.playerId FROM LobbyMember m WHERE m.lobby.id = :lobbyId")
+    List<UUID> findPlayerIdsByLobbyId(UUID lobbyId);
 }
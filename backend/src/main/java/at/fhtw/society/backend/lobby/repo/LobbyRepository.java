@@ -1,18 +1,16 @@
 package at.fhtw.society.backend.lobby.repo;
 
 import at.fhtw.society.backend.lobby.entity.Lobby;
-import jakarta.persistence.Lob;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface LobbyRepository extends JpaRepository<Lobby, UUID> {
+public interface LobbyRepository extends JpaRepository<Lobby, UUID>, LobbyRepositoryCustom {
     /**
      * Custom query to retrieve a list of lobby items with selected fields.
      * This method uses a query to fetch specific columns from the Lobby entity
@@ -41,17 +39,48 @@ public interface LobbyRepository extends JpaRepository<Lobby, UUID> {
     List<LobbyListItemRow> findLobbyList();
 
     /**
-     * Fetches a Lobby entity by its ID with a pessimistic write lock to prevent
-     * multiple concurrent joins that could exceed the lobby's capacity.
-     * This method also eagerly loads the associated Theme and Members
-     * to ensure that all necessary data is available for operations that
-     * may modify the lobby or its members.
+     * Fetches a Lobby entity by its ID and eagerly loads the associated Theme and Members,
+     * e.g. to render the lobby view.
      * @param lobbyId - the UUID of the lobby to fetch
      * @return An Optional containing the Lobby entity if found, otherwise empty.
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @EntityGraph(attributePaths = {"theme", "members"})
     @Query("SELECT l FROM Lobby l WHERE l.id = :lobbyId")
-    Optional<Lobby> findByIdForJoin(UUID lobbyId);
+    Optional<Lobby> findByIdWithMembers(UUID lobbyId);
+
+    /**
+     * Reads only the password hash of a lobby, e.g. to verify a join password before any transaction.
+     * @param lobbyId - the UUID of the lobby
+     * @return the hash, or empty if the lobby does not exist or has no password
+     */
+    @Query("SELECT l.passwordHash FROM Lobby l WHERE l.id = :lobbyId")
+    Optional<String> findPasswordHashById(UUID lobbyId);
+
+    /**
+     * Takes one seat of an open lobby if one is free. The check and the increment are a single
+     * conditional UPDATE, so concurrent joins cannot exceed maxPlayers and no row lock is held.
+     * @param lobbyId - the UUID of the lobby
+     * @return 1 if a seat was taken, 0 if the lobby does not exist, is not open or is full
+     */
+    @Modifying
+    @Query("UPDATE Lobby l SET l.seatsTaken = l.seatsTaken + 1 WHERE l.id = :lobbyId AND l.status = at.fhtw.society.backend.lobby.entity.LobbyStatus.OPEN AND l.seatsTaken < l.maxPlayers")
+    int takeSeat(UUID lobbyId);
+
+    /**
+     * Gives back one seat (a member left).
+     * @param lobbyId - the UUID of the lobby
+     * @return 1 if a seat was released, otherwise 0
+     */
+    @Modifying
+    @Query("UPDATE Lobby l SET l.seatsTaken = l.seatsTaken - 1 WHERE l.id = :lobbyId AND l.seatsTaken > 0")
+    int releaseSeat(UUID lobbyId);
+
+    /**
+     * Recomputes seatsTaken of all lobbies from their members (e.g. after the column was added).
+     * @return number of updated lobbies
+     */
+    @Modifying
+    @Query("UPDATE Lobby l SET l.seatsTaken = (SELECT COUNT(m) FROM LobbyMember m WHERE m.lobby = l)")
+    int reconcileSeatsTaken();
 
 }
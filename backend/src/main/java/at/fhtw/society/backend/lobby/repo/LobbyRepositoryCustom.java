@@ -0,0 +1,18 @@
+package at.fhtw.society.backend.lobby.repo;
+
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LobbyRepositoryCustom {
+    /**
+     * One page of the lobby list, ordered by (name, id), starting after the given keyset position.
+     * @param filter - filters to apply
+     * @param afterName - name of the last lobby of the previous page (null for the first page)
+     * @param afterId - id of the last lobby of the previous page (null for the first page)
+     * @param limit - maximum number of lobbies to return
+     * @return the lobbies of the page
+     */
+    List<LobbyListItemDto> findLobbyPage(LobbyListFilter filter, String afterName, UUID afterId, int limit);
+}
@@ -0,0 +1,90 @@
+package at.fhtw.society.backend.lobby.repo;
+
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset pagination for the lobby list. Only the filters that are set end up in the query, so the
+ * (status|theme_id, name, id) indexes declared on Lobby can be used for both filtering and ordering.
+ * The player count is the maintained seats_taken column, so neither the page nor the free-seats filter
+ * touches lobby_members.
+ * The name search is a substring match (leading wildcard), which no index supports: search pages walk the
+ * (name, id) order and filter each row until the page is full.
+ */
+public class LobbyRepositoryImpl implements LobbyRepositoryCustom {
+
+    private static final String HAS_PASSWORD = "(l.passwordHash IS NOT NULL AND l.passwordHash <> '')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LobbyListItemDto> findLobbyPage(LobbyListFilter filter, String afterName, UUID afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                SELECT l.id AS lobbyId, l.name AS name, t.id AS themeId, t.theme AS themeName,
+                       l.seatsTaken AS playersCount, l.maxPlayers AS maxPlayers, l.passwordHash AS passwordHash, l.status AS status
+                FROM Lobby l
+                JOIN l.theme t
+                WHERE 1 = 1
+                """);
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.status() != null) {
+            jpql.append(" AND l.status = :status");
+            params.put("status", filter.status());
+        }
+        if (filter.themeId() != null) {
+            jpql.append(" AND l.theme.id = :themeId");
+            params.put("themeId", filter.themeId());
+        }
+        if (filter.hasPassword() != null) {
+            jpql.append(filter.hasPassword() ? " AND " + HAS_PASSWORD : " AND NOT " + HAS_PASSWORD);
+        }
+        if (filter.hasFreeSeats() != null) {
+            jpql.append(filter.hasFreeSeats() ? " AND l.seatsTaken < l.maxPlayers" : " AND l.seatsTaken >= l.maxPlayers");
+        }
+        if (filter.search() != null && !filter.search().isBlank()) {
+            jpql.append(" AND LOWER(l.name) LIKE :search ESCAPE '!'");
+            params.put("search", "%" + escapeLike(filter.search().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (afterName != null && afterId != null) {
+            jpql.append(" AND (l.name > :afterName OR (l.name = :afterName AND l.id > :afterId))");
+            params.put("afterName", afterName);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY l.name ASC, l.id ASC");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class).setMaxResults(limit);
+        params.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(row -> {
+                    String passwordHash = row.get("passwordHash", String.class);
+                    return LobbyListItemDto.builder()
+                            .lobbyId(row.get("lobbyId", UUID.class))
+                            .name(row.get("name", String.class))
+                            .themeId(row.get("themeId", UUID.class))
+                            .themeName(row.get("themeName", String.class))
+                            .playersCount(row.get("playersCount", Integer.class))
+                            .maxPlayers(row.get("maxPlayers", Integer.class))
+                            .hasPassword(passwordHash != null && !passwordHash.isBlank())
+                            .status(row.get("status", LobbyStatus.class))
+                            .build();
+                })
+                .toList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,265 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.common.socket.RoomBroadcaster;
+import at.fhtw.society.backend.lobby.dto.ChatMessageDto;
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers lobby chat messages with bounded memory per connection:
+ * - coalescing: messages of one lobby within a short window go out as one receiveMessages array event
+ *   (a single message is still sent as receiveMessage)
+ * - per-client outbox: a client of this node whose socket is not keeping up is skipped by the room broadcast;
+ *   its messages wait in a bounded outbox and are sent once it is writable again. On overflow the oldest
+ *   messages are dropped, or the client is disconnected (lobby.chat.outbox.overflow=disconnect)
+ * - per-player rate limit (token bucket), checked before a message is accepted. Buckets belong to the player,
+ *   not the connection: they survive reconnects and are only dropped once idle long enough to be full again
+ * Metrics:
+ * - lobby.chat.batch.size (distribution of messages per sent batch)
+ * - lobby.chat.outbox.overflow (counter, action=dropped|disconnected)
+ * - lobby.chat.rate.limited (counter)
+ */
+@Slf4j
+@Component
+public class ChatBroadcaster {
+
+    static final String EVENT_RECEIVE_MESSAGE = "receiveMessage";
+    static final String EVENT_RECEIVE_MESSAGES = "receiveMessages";
+
+    // a batch is sent right away once it has this many messages
+    private static final int MAX_BATCH_SIZE = 50;
+    private static final long BUCKET_SWEEP_INTERVAL_MS = 60_000;
+
+    private final RoomBroadcaster roomBroadcaster;
+    private final long batchWindowMs;
+    private final int outboxCapacity;
+    private final boolean disconnectOnOverflow;
+    private final double messagesPerSecond;
+    private final int burst;
+    // a bucket unused for this long has refilled completely and is the same as a new one
+    private final long bucketIdleNanos;
+
+    private final ConcurrentHashMap<UUID, Batch> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // own single thread: flushes must not wait behind the application's @Scheduled jobs
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chat-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DistributionSummary batchSize;
+    private final Counter dropped;
+    private final Counter disconnected;
+    private final Counter rateLimited;
+
+    public ChatBroadcaster(RoomBroadcaster roomBroadcaster,
+                           MeterRegistry meterRegistry,
+                           @Value("${lobby.chat.batch-window-ms:20}") long batchWindowMs,
+                           @Value("${lobby.chat.outbox.capacity:100}") int outboxCapacity,
+                           @Value("${lobby.chat.outbox.overflow:drop}") String overflowPolicy,
+                           @Value("${lobby.chat.outbox.retry-interval-ms:100}") long retryIntervalMs,
+                           @Value("${lobby.chat.rate.messages-per-second:2}") double messagesPerSecond,
+                           @Value("${lobby.chat.rate.burst:5}") int burst) {
+        this.roomBroadcaster = roomBroadcaster;
+        this.batchWindowMs = batchWindowMs;
+        this.outboxCapacity = outboxCapacity;
+        this.disconnectOnOverflow = "disconnect".equalsIgnoreCase(overflowPolicy);
+        this.messagesPerSecond = messagesPerSecond;
+        this.burst = burst;
+        this.bucketIdleNanos = (long) Math.ceil(burst / messagesPerSecond * 1_000_000_000L);
+
+        this.batchSize = DistributionSummary.builder("lobby.chat.batch.size").register(meterRegistry);
+        this.dropped = Counter.builder("lobby.chat.outbox.overflow").tag("action", "dropped").register(meterRegistry);
+        this.disconnected = Counter.builder("lobby.chat.outbox.overflow").tag("action", "disconnected").register(meterRegistry);
+        this.rateLimited = Counter.builder("lobby.chat.rate.limited").register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::drainOutboxes, retryIntervalMs, retryIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::dropIdleBuckets, BUCKET_SWEEP_INTERVAL_MS, BUCKET_SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes one send permit of the player. Returns false if the player sends faster than allowed.
+     */
+    public boolean tryAcquire(UUID playerId) {
+        boolean allowed = buckets.computeIfAbsent(playerId, id -> new TokenBucket(burst)).tryTake(messagesPerSecond, burst);
+        if (!allowed) rateLimited.increment();
+        return allowed;
+    }
+
+    /**
+     * Queues a message for the lobby room; it is sent with the other messages of the current batch window.
+     */
+    public void publish(UUID lobbyId, ChatMessageDto message) {
+        // adding and flush's remove are atomic per key: a message lands either in the batch being sent or in the next one
+        Batch batch = pending.compute(lobbyId, (id, current) -> {
+            Batch b = current != null ? current : new Batch();
+            b.messages.add(message);
+            b.size = b.messages.size();
+            return b;
+        });
+        if (batch.size >= MAX_BATCH_SIZE && batch.flushNow.compareAndSet(false, true)) {
+            scheduler.execute(() -> flush(lobbyId, batch));
+        } else if (batch.scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> flush(lobbyId, batch), batchWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forgets the per-client state (call when the client disconnects). The player's rate limit is kept,
+     * so reconnecting (or closing one of several tabs) does not hand out a new burst.
+     */
+    public void forget(UUID sessionId) {
+        outboxes.remove(sessionId);
+    }
+
+    private void flush(UUID lobbyId, Batch batch) {
+        // the batch may already have been sent early (full) or on its timer
+        if (!pending.remove(lobbyId, batch)) return;
+
+        List<ChatMessageDto> messages = batch.messages;
+        batchSize.record(messages.size());
+
+        String room = lobbyId.toString();
+        // slow clients (and clients still having queued messages, to keep the order) get the batch via their outbox
+        Set<UUID> deferred = new HashSet<>();
+        for (SocketIOClient client : roomBroadcaster.localClients(room)) {
+            Outbox outbox = outboxes.get(client.getSessionId());
+            if ((outbox != null && !outbox.isEmpty()) || roomBroadcaster.isBackedUp(client)) {
+                deferred.add(client.getSessionId());
+                defer(client, messages);
+            }
+        }
+
+        if (messages.size() == 1) {
+            roomBroadcaster.sendExcept(room, EVENT_RECEIVE_MESSAGE, c -> deferred.contains(c.getSessionId()), messages.get(0));
+        } else {
+            roomBroadcaster.sendExcept(room, EVENT_RECEIVE_MESSAGES, c -> deferred.contains(c.getSessionId()), messages);
+        }
+    }
+
+    private void defer(SocketIOClient client, List<ChatMessageDto> messages) {
+        Outbox outbox = outboxes.computeIfAbsent(client.getSessionId(), id -> new Outbox(client));
+        int overflow;
+        synchronized (outbox) {
+            outbox.messages.addAll(messages);
+            overflow = outbox.messages.size() - outboxCapacity;
+            if (overflow > 0 && !disconnectOnOverflow) {
+                for (int i = 0; i < overflow; i++) outbox.messages.poll();
+            }
+        }
+        if (overflow <= 0) return;
+
+        if (disconnectOnOverflow) {
+            disconnected.increment();
+            outboxes.remove(client.getSessionId());
+            log.warn("Disconnecting slow chat client {}: outbox over {} messages", client.getSessionId(), outboxCapacity);
+            client.disconnect();
+        } else {
+            dropped.increment(overflow);
+        }
+    }
+
+    private void drainOutboxes() {
+        try {
+            for (Outbox outbox : outboxes.values()) {
+                SocketIOClient client = outbox.client;
+                if (!client.isChannelOpen()) {
+                    outboxes.remove(client.getSessionId(), outbox);
+                    continue;
+                }
+                if (roomBroadcaster.isBackedUp(client)) continue;
+
+                List<ChatMessageDto> messages;
+                synchronized (outbox) {
+                    messages = new ArrayList<>(outbox.messages);
+                    outbox.messages.clear();
+                }
+                if (!messages.isEmpty()) {
+                    client.sendEvent(EVENT_RECEIVE_MESSAGES, messages);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Draining chat outboxes failed", e);
+        }
+    }
+
+    void dropIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.idleSince(now) > bucketIdleNanos);
+    }
+
+    /** Number of players with a rate limit bucket. */
+    int trackedPlayers() {
+        return buckets.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Batch {
+        // only modified inside pending.compute, and read after the batch was removed from pending
+        private final List<ChatMessageDto> messages = new ArrayList<>();
+        private volatile int size;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean flushNow = new AtomicBoolean();
+    }
+
+    private static final class Outbox {
+        private final SocketIOClient client;
+        private final ArrayDeque<ChatMessageDto> messages = new ArrayDeque<>();
+
+        private Outbox(SocketIOClient client) {
+            this.client = client;
+        }
+
+        private boolean isEmpty() {
+            synchronized (this) {
+                return messages.isEmpty();
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(int burst) {
+            this.tokens = burst;
+        }
+
+        private synchronized boolean tryTake(double perSecond, int burst) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) / 1_000_000_000.0 * perSecond);
+            refilledAt = now;
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+
+        private synchronized long idleSince(long now) {
+            return now - refilledAt;
+        }
+    }
+}
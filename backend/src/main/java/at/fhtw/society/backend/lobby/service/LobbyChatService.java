@@ -1,5 +1,9 @@
 package at.fhtw.society.backend.lobby.service;
 
+import at.fhtw.society.backend.common.concurrent.KeyedSerialExecutor;
+import at.fhtw.society.backend.common.socket.RoomBroadcaster;
+import at.fhtw.society.backend.game.dto.ResumeGameRequestDto;
+import at.fhtw.society.backend.game.service.GameEventBuffer;
 import at.fhtw.society.backend.lobby.dto.ChatMessageDto;
 import at.fhtw.society.backend.lobby.dto.ChatMessageRequestDto;
 import at.fhtw.society.backend.lobby.entity.LobbyMember;
@@ -13,6 +17,8 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.listener.ConnectListener;
 import com.corundumstudio.socketio.listener.DataListener;
 import com.corundumstudio.socketio.listener.DisconnectListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +26,12 @@ import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -30,37 +40,64 @@ public class LobbyChatService {
     private static final String EVENT_JOIN_LOBBY = "joinLobby";
     private static final String EVENT_LEAVE_LOBBY = "leaveLobby";
     private static final String EVENT_SEND_MESSAGE = "sendMessage";
-    private static final String EVENT_RECEIVE_MESSAGE = "receiveMessage";
     private static final String EVENT_ERROR = "error";
     private static final String EVENT_GAME_STARTED = "gameStarted";
     private static final String EVENT_JOIN_GAME = "joinGame";
+    private static final String EVENT_RESUME_GAME = "resumeGame";
+    private static final String EVENT_GAME_RESYNC_REQUIRED = "gameResyncRequired";
+    private static final String EVENT_SUBSCRIBE_LOBBY_LIST = "subscribeLobbyList";
+    private static final String EVENT_UNSUBSCRIBE_LOBBY_LIST = "unsubscribeLobbyList";
 
     private final SocketIOServer server;
+    private final RoomBroadcaster roomBroadcaster;
     private final JwtService jwtService;
     private final LobbyRepository lobbyRepository;
     private final LobbyMemberRepository lobbyMemberRepository;
+    private final LobbyMembershipIndex lobbyMembershipIndex;
+    private final LobbyListCache lobbyListCache;
+    private final ChatBroadcaster chatBroadcaster;
+    private final GameEventBuffer gameEventBuffer;
+    private final KeyedSerialExecutor<UUID> socketMailbox;
+    private final MeterRegistry meterRegistry;
 
     // Map to track which lobby each client is in
     private final ConcurrentHashMap<UUID, UUID> clientToLobbyMap = new ConcurrentHashMap<>();
 
     public LobbyChatService(SocketIOServer server,
+                           RoomBroadcaster roomBroadcaster,
                            JwtService jwtService,
                            LobbyRepository lobbyRepository,
-                           LobbyMemberRepository lobbyMemberRepository) {
+                           LobbyMemberRepository lobbyMemberRepository,
+                           LobbyMembershipIndex lobbyMembershipIndex,
+                           LobbyListCache lobbyListCache,
+                           ChatBroadcaster chatBroadcaster,
+                           GameEventBuffer gameEventBuffer,
+                           KeyedSerialExecutor<UUID> socketMailbox,
+                           MeterRegistry meterRegistry) {
         this.server = server;
+        this.roomBroadcaster = roomBroadcaster;
         this.jwtService = jwtService;
         this.lobbyRepository = lobbyRepository;
         this.lobbyMemberRepository = lobbyMemberRepository;
+        this.lobbyMembershipIndex = lobbyMembershipIndex;
+        this.lobbyListCache = lobbyListCache;
+        this.chatBroadcaster = chatBroadcaster;
+        this.gameEventBuffer = gameEventBuffer;
+        this.socketMailbox = socketMailbox;
+        this.meterRegistry = meterRegistry;
     }
 
     @PostConstruct
     public void init() {
         server.addConnectListener(onConnected());
-        server.addDisconnectListener(onDisconnected());
-        server.addEventListener(EVENT_JOIN_LOBBY, String.class, onJoinLobby());
-        server.addEventListener(EVENT_LEAVE_LOBBY, String.class, onLeaveLobby());
-        server.addEventListener(EVENT_SEND_MESSAGE, ChatMessageRequestDto.class, onSendMessage());
-        server.addEventListener(EVENT_JOIN_GAME, String.class, onJoinGame());
+        server.addDisconnectListener(dispatched(onDisconnected()));
+        server.addEventListener(EVENT_JOIN_LOBBY, String.class, dispatched(EVENT_JOIN_LOBBY, onJoinLobby()));
+        server.addEventListener(EVENT_LEAVE_LOBBY, String.class, dispatched(EVENT_LEAVE_LOBBY, onLeaveLobby()));
+        server.addEventListener(EVENT_SEND_MESSAGE, ChatMessageRequestDto.class, dispatched(EVENT_SEND_MESSAGE, onSendMessage()));
+        server.addEventListener(EVENT_JOIN_GAME, String.class, dispatched(EVENT_JOIN_GAME, onJoinGame()));
+        server.addEventListener(EVENT_RESUME_GAME, ResumeGameRequestDto.class, dispatched(EVENT_RESUME_GAME, onResumeGame()));
+        server.addEventListener(EVENT_SUBSCRIBE_LOBBY_LIST, String.class, dispatched(EVENT_SUBSCRIBE_LOBBY_LIST, onSubscribeLobbyList()));
+        server.addEventListener(EVENT_UNSUBSCRIBE_LOBBY_LIST, String.class, dispatched(EVENT_UNSUBSCRIBE_LOBBY_LIST, onUnsubscribeLobbyList()));
         log.info("LobbyChatService initialized with event listeners");
     }
 
@@ -70,6 +107,42 @@ public class LobbyChatService {
         log.info("SocketIO server stopped");
     }
 
+    /**
+     * Runs the handler on the socket executor instead of netty's event loop, in order per client.
+     * Latency (queue wait + handling) is recorded as socketio.handler.latency{event}.
+     */
+    private <T> DataListener<T> dispatched(String event, DataListener<T> handler) {
+        Timer latency = Timer.builder("socketio.handler.latency").tag("event", event).register(meterRegistry);
+        return (client, data, ackSender) -> {
+            long received = System.nanoTime();
+            socketMailbox.submit(client.getSessionId(), () -> {
+                try {
+                    handler.onData(client, data, ackSender);
+                } finally {
+                    latency.record(System.nanoTime() - received, TimeUnit.NANOSECONDS);
+                }
+                return null;
+            }).exceptionally(ex -> {
+                if (ex instanceof RejectedExecutionException) {
+                    log.warn("Socket executor saturated, rejected {} from client {}", event, client.getSessionId());
+                    client.sendEvent(EVENT_ERROR, "Server busy, please try again");
+                } else {
+                    log.error("Handling {} for client {} failed", event, client.getSessionId(), ex);
+                }
+                return null;
+            });
+        };
+    }
+
+    /** Disconnects go through the same per-client queue, so they are handled after the client's pending events. */
+    private DisconnectListener dispatched(DisconnectListener handler) {
+        return client -> socketMailbox.execute(client.getSessionId(), () -> handler.onDisconnect(client))
+                .exceptionally(ex -> {
+                    log.error("Handling disconnect of client {} failed", client.getSessionId(), ex);
+                    return null;
+                });
+    }
+
     private ConnectListener onConnected() {
         return client -> {
             String token = client.getHandshakeData().getSingleUrlParam("token");
@@ -104,6 +177,7 @@ public class LobbyChatService {
                     log.info("Player {} disconnected from lobby {}", playerId, lobbyId);
                 }
             }
+            chatBroadcaster.forget(client.getSessionId());
             log.info("Client {} disconnected", client.getSessionId());
         };
     }
@@ -190,14 +264,19 @@ public class LobbyChatService {
                 return;
             }
 
-            // Verify player is still a member of the lobby
-            if (!lobbyMemberRepository.existsByLobby_IdAndPlayerId(lobbyId, playerId)) {
+            // Verify player is still a member of the lobby (in-memory index, no DB round trip per message)
+            if (!lobbyMembershipIndex.isMember(lobbyId, playerId)) {
                 client.sendEvent(EVENT_ERROR, "You are no longer a member of this lobby");
                 clientToLobbyMap.remove(playerId);
                 client.leaveRoom(lobbyId.toString());
                 return;
             }
 
+            if (!chatBroadcaster.tryAcquire(playerId)) {
+                client.sendEvent(EVENT_ERROR, "You are sending messages too fast");
+                return;
+            }
+
             // Create chat message
             ChatMessageDto chatMessage = ChatMessageDto.builder()
                     .playerId(playerId)
@@ -207,10 +286,10 @@ public class LobbyChatService {
                     .timestamp(Instant.now())
                     .build();
 
-            // Broadcast message to all clients in the lobby room
-            server.getRoomOperations(lobbyId.toString()).sendEvent(EVENT_RECEIVE_MESSAGE, chatMessage);
+            // Broadcast message to all clients in the lobby room (coalesced with other messages of the same moment)
+            chatBroadcaster.publish(lobbyId, chatMessage);
 
-            log.info("Player {} sent message in lobby {}: {}", playerId, lobbyId, messageRequest.getMessage());
+            log.debug("Player {} sent message in lobby {}: {}", playerId, lobbyId, messageRequest.getMessage());
         };
     }
 
@@ -227,7 +306,7 @@ public class LobbyChatService {
                 .timestamp(Instant.now())
                 .build();
 
-        server.getRoomOperations(lobbyId.toString()).sendEvent(EVENT_RECEIVE_MESSAGE, systemMessage);
+        chatBroadcaster.publish(lobbyId, systemMessage);
         log.info("System message sent to lobby {}: {}", lobbyId, message);
     }
 
@@ -236,7 +315,7 @@ public class LobbyChatService {
      * Sends the gameId so clients can navigate to the game page.
      */
     public void notifyGameStarted(UUID lobbyId, UUID gameId) {
-        server.getRoomOperations(lobbyId.toString()).sendEvent(EVENT_GAME_STARTED, gameId.toString());
+        roomBroadcaster.send(lobbyId.toString(), EVENT_GAME_STARTED, gameId.toString());
         log.info("Game started notification sent to lobby {}: gameId={}", lobbyId, gameId);
     }
 
@@ -268,4 +347,61 @@ public class LobbyChatService {
             }
         };
     }
+
+    /**
+     * Event listener for clients reconnecting to a game room.
+     * The client sends the last sequence number it has seen and gets only the events it missed replayed
+     * (with their original event names). If they are no longer buffered, gameResyncRequired is sent instead
+     * and the client reloads the game state once via REST.
+     */
+    private DataListener<ResumeGameRequestDto> onResumeGame() {
+        return (client, request, ackSender) -> {
+            UUID playerId = client.get("playerId");
+            if (playerId == null) {
+                client.sendEvent(EVENT_ERROR, "Not authenticated");
+                return;
+            }
+
+            UUID gameUuid;
+            try {
+                gameUuid = UUID.fromString(request.getGameId());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                client.sendEvent(EVENT_ERROR, "Invalid game ID");
+                return;
+            }
+
+            // join first, so no event between the replay and the subscription is missed (the client drops duplicates by seq)
+            client.joinRoom("game:" + gameUuid);
+
+            Optional<List<GameEventBuffer.BufferedEvent>> missed = gameEventBuffer.eventsAfter(gameUuid, request.getLastSeq());
+            if (missed.isEmpty()) {
+                client.sendEvent(EVENT_GAME_RESYNC_REQUIRED, gameUuid.toString());
+                log.info("Player {} resumed game {} from seq {}: resync required", playerId, gameUuid, request.getLastSeq());
+            } else {
+                missed.get().forEach(event -> client.sendEvent(event.event(), event.payload()));
+                log.info("Player {} resumed game {} from seq {}: replayed {} events",
+                        playerId, gameUuid, request.getLastSeq(), missed.get().size());
+            }
+
+            if (ackSender != null) {
+                ackSender.sendAckData("Resumed game room successfully");
+            }
+        };
+    }
+
+    /**
+     * Event listener for clients browsing the lobby list.
+     * The client gets the current snapshot once, then lobbyListDelta events for every change.
+     */
+    private DataListener<String> onSubscribeLobbyList() {
+        return (client, data, ackSender) -> {
+            // join first, so no delta between snapshot and subscription is missed (older versions are ignored by the client)
+            client.joinRoom(LobbyListCache.ROOM);
+            client.sendEvent(LobbyListCache.EVENT_SNAPSHOT, lobbyListCache.getSnapshot());
+        };
+    }
+
+    private DataListener<String> onUnsubscribeLobbyList() {
+        return (client, data, ackSender) -> client.leaveRoom(LobbyListCache.ROOM);
+    }
 }
@@ -9,18 +9,25 @@ import at.fhtw.society.backend.lobby.entity.Lobby;
 import at.fhtw.society.backend.lobby.entity.LobbyMember;
 import at.fhtw.society.backend.lobby.entity.LobbyRole;
 import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.event.LobbyCreatedEvent;
+import at.fhtw.society.backend.lobby.event.LobbyMembershipEvent;
 import at.fhtw.society.backend.lobby.exception.*;
 import at.fhtw.society.backend.lobby.mapper.LobbyViewMapper;
 import at.fhtw.society.backend.lobby.repo.LobbyMemberRepository;
 import at.fhtw.society.backend.lobby.repo.LobbyRepository;
 import at.fhtw.society.backend.security.jwt.JwtService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LobbyCommandService {
@@ -31,14 +38,22 @@ public class LobbyCommandService {
     private final PasswordEncoder passwordEncoder;
     private final LobbyViewMapper lobbyViewMapper;
     private final LobbyChatService lobbyChatService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LobbyPasswordVerifier lobbyPasswordVerifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor gameTaskExecutor;
 
-    public LobbyCommandService(LobbyRepository lobbyRepository, LobbyMemberRepository lobbyMemberRepository, ThemeRepository themeRepository, PasswordEncoder passwordEncoder, LobbyViewMapper lobbyViewMapper, LobbyChatService lobbyChatService) {
+    public LobbyCommandService(LobbyRepository lobbyRepository, LobbyMemberRepository lobbyMemberRepository, ThemeRepository themeRepository, PasswordEncoder passwordEncoder, LobbyViewMapper lobbyViewMapper, LobbyChatService lobbyChatService, ApplicationEventPublisher eventPublisher, LobbyPasswordVerifier lobbyPasswordVerifier, TransactionTemplate transactionTemplate, ThreadPoolTaskExecutor gameTaskExecutor) {
         this.lobbyRepository = lobbyRepository;
         this.lobbyMemberRepository = lobbyMemberRepository;
         this.themeRepository = themeRepository;
         this.passwordEncoder = passwordEncoder;
         this.lobbyViewMapper = lobbyViewMapper;
         this.lobbyChatService = lobbyChatService;
+        this.eventPublisher = eventPublisher;
+        this.lobbyPasswordVerifier = lobbyPasswordVerifier;
+        this.transactionTemplate = transactionTemplate;
+        this.gameTaskExecutor = gameTaskExecutor;
     }
 
     /**
@@ -73,6 +88,8 @@ public class LobbyCommandService {
                 .maxRounds(createLobbyRequestDto.getMaxRounds())
                 .passwordHash(passwordHash)
                 .status(LobbyStatus.OPEN)
+                // the creator takes the first seat
+                .seatsTaken(1)
                 .build();
 
         // Create lobbymember entity for creator as gamemaster
@@ -90,6 +107,16 @@ public class LobbyCommandService {
 
         // Save lobby in database
         Lobby savedLobby = lobbyRepository.save(lobby);
+        eventPublisher.publishEvent(new LobbyCreatedEvent(LobbyListItemDto.builder()
+                .lobbyId(savedLobby.getId())
+                .name(savedLobby.getName())
+                .themeId(theme.getId())
+                .themeName(theme.getTheme())
+                .playersCount(savedLobby.getMembers().size())
+                .maxPlayers(savedLobby.getMaxPlayers())
+                .hasPassword(savedLobby.hasPassword())
+                .status(savedLobby.getStatus())
+                .build()));
 
         // Send system message to lobby chat
         lobbyChatService.sendSystemMessage(savedLobby.getId(), identity.name() + " created the lobby");
@@ -101,16 +128,45 @@ public class LobbyCommandService {
      * Player joins an existing lobby. Validations are performed to ensure the player can join.
      * If successful, the updated lobby view is returned.
      * If the player is already in the lobby, the current lobby view is returned.
+     * Capacity is enforced by an atomic seat counter (no row lock, no member fetch before the seat is taken).
+     * The password of a protected lobby is verified asynchronously before the transaction starts
+     * (see LobbyPasswordVerifier), so neither a connection nor the request thread is held while BCrypt runs;
+     * the join transaction then runs on the gameTaskExecutor. Lobbies without password are joined right away.
      * @param lobbyId - ID of the lobby to join
      * @param joinLobbyRequestDto - DTO containing join parameters (password)
      * @param identity - Identity of the joining player
-     * @return DTO representing the updated lobby view
+     * @return future of the DTO representing the updated lobby view
      */
-    @Transactional
-    public LobbyViewDto joinLobby(UUID lobbyId, JoinLobbyRequestDto joinLobbyRequestDto, JwtService.PlayerIdentity identity) {
+    public CompletableFuture<LobbyViewDto> joinLobby(UUID lobbyId, JoinLobbyRequestDto joinLobbyRequestDto, JwtService.PlayerIdentity identity) {
+        // members re-joining their own lobby need no password
+        Optional<String> passwordHash = lobbyMemberRepository.existsByLobby_IdAndPlayerId(lobbyId, identity.playerId())
+                ? Optional.empty()
+                : lobbyRepository.findPasswordHashById(lobbyId).filter(hash -> !hash.isBlank());
+        if (passwordHash.isEmpty()) {
+            return CompletableFuture.completedFuture(transactionTemplate.execute(status -> joinVerified(lobbyId, identity)));
+        }
+
+        String rawPassword = (joinLobbyRequestDto == null) ? null : joinLobbyRequestDto.getPassword();
+        return lobbyPasswordVerifier.verify(lobbyId, identity.playerId(), passwordHash.get(), rawPassword)
+                .thenApplyAsync(v -> transactionTemplate.execute(status -> joinVerified(lobbyId, identity)), gameTaskExecutor);
+    }
+
+    /**
+     * Joins a lobby that has no password (quick-join), synchronously.
+     * @throws LobbyPasswordInvalidException if the lobby turns out to be protected
+     */
+    public LobbyViewDto joinLobbyWithoutPassword(UUID lobbyId, JwtService.PlayerIdentity identity) {
+        if (!lobbyMemberRepository.existsByLobby_IdAndPlayerId(lobbyId, identity.playerId())
+                && lobbyRepository.findPasswordHashById(lobbyId).filter(hash -> !hash.isBlank()).isPresent()) {
+            throw new LobbyPasswordInvalidException(lobbyId);
+        }
+        return transactionTemplate.execute(status -> joinVerified(lobbyId, identity));
+    }
+
+    private LobbyViewDto joinVerified(UUID lobbyId, JwtService.PlayerIdentity identity) {
         // check if already in this lobby, if so, return current lobby view
         if (lobbyMemberRepository.existsByLobby_IdAndPlayerId(lobbyId, identity.playerId())) {
-            Lobby lobby = lobbyRepository.findByIdForJoin(lobbyId)
+            Lobby lobby = lobbyRepository.findByIdWithMembers(lobbyId)
                     .orElseThrow(() -> new LobbyNotFoundException(lobbyId));
             lobby.getMembers().sort(Comparator.comparing(LobbyMember::getJoinedAt));
             return lobbyViewMapper.toDto(lobby);
@@ -121,30 +177,18 @@ public class LobbyCommandService {
             throw new PlayerAlreadyInLobbyException(identity.playerId());
         }
 
-        // lock lobby row to prevent race conditions on max players
-        Lobby lobby = lobbyRepository.findByIdForJoin(lobbyId)
+        Lobby lobby = lobbyRepository.findById(lobbyId)
                 .orElseThrow(() -> new LobbyNotFoundException(lobbyId));
 
         if (lobby.getStatus() != LobbyStatus.OPEN) {
             throw new LobbyNotJoinableException(lobbyId, lobby.getStatus());
         }
 
-        int currentMemberCount = lobby.getMembers().size();
-        if (currentMemberCount >= lobby.getMaxPlayers()) {
+        // take a seat atomically: fails if the lobby filled up (or was closed) in the meantime
+        if (lobbyRepository.takeSeat(lobbyId) == 0) {
             throw new LobbyFullException(lobbyId);
         }
 
-        // verify password if lobby is protected
-        if (lobby.hasPassword()) {
-            String rawPassword = (joinLobbyRequestDto == null) ? null : joinLobbyRequestDto.getPassword();
-            if (rawPassword == null || rawPassword.isBlank()) {
-                throw new LobbyPasswordInvalidException(lobbyId);
-            }
-            if (!passwordEncoder.matches(rawPassword, lobby.getPasswordHash())) {
-                throw new LobbyPasswordInvalidException(lobbyId);
-            }
-        }
-
         LobbyMember newMember = LobbyMember.builder()
                 .lobby(lobby)
                 .playerId(identity.playerId())
@@ -154,16 +198,15 @@ public class LobbyCommandService {
                 .ready(false)
                 .build();
 
-        lobby.getMembers().add(newMember);
-
-        Lobby updatedLobby = lobbyRepository.save(lobby);
-
-        updatedLobby.getMembers().sort(Comparator.comparing(LobbyMember::getJoinedAt));
+        // insert only the new member; flushed so the member list loaded for the view contains it
+        lobbyMemberRepository.saveAndFlush(newMember);
+        eventPublisher.publishEvent(LobbyMembershipEvent.joined(lobbyId, identity.playerId()));
 
         // Send system message to lobby chat
         lobbyChatService.sendSystemMessage(lobbyId, identity.name() + " joined the lobby");
 
-        return lobbyViewMapper.toDto(updatedLobby);
+        lobby.getMembers().sort(Comparator.comparing(LobbyMember::getJoinedAt));
+        return lobbyViewMapper.toDto(lobby);
     }
 
     /**
@@ -184,6 +227,8 @@ public class LobbyCommandService {
         boolean wasGamemaster = leavingMember.getRole() == LobbyRole.GAMEMASTER;
 
         lobbyMemberRepository.delete(leavingMember);
+        lobbyRepository.releaseSeat(lobbyId);
+        eventPublisher.publishEvent(LobbyMembershipEvent.left(lobbyId, playerId));
 
         // Send system message to lobby chat
         lobbyChatService.sendSystemMessage(lobbyId, leavingMember.getName() + " left the lobby");
@@ -195,6 +240,7 @@ public class LobbyCommandService {
             // Check if a game exists for this lobby
             if (lobby.getGame() == null) {
                 lobbyRepository.deleteById(lobbyId);
+                eventPublisher.publishEvent(LobbyMembershipEvent.lobbyDeleted(lobbyId));
             }
             // If a game exists, just leave the lobby empty (game still references it)
         } else if (wasGamemaster) {
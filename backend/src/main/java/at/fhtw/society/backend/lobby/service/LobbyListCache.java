@@ -0,0 +1,181 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.common.socket.RoomBroadcaster;
+import at.fhtw.society.backend.lobby.dto.LobbyListDeltaDto;
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.dto.LobbyListSnapshotDto;
+import at.fhtw.society.backend.lobby.event.LobbyCreatedEvent;
+import at.fhtw.society.backend.lobby.event.LobbyMembershipEvent;
+import at.fhtw.society.backend.lobby.event.LobbyStatusChangedEvent;
+import at.fhtw.society.backend.lobby.mapper.LobbyListItemMapper;
+import at.fhtw.society.backend.lobby.repo.LobbyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-memory lobby list, so the lobby browser does not run the lobby list aggregate per request.
+ * - loaded once at startup and resynced from the DB periodically (changes made by other instances)
+ * - kept current by the committed lobby events of this instance
+ * - every change bumps the version and is pushed as a small delta to the "lobbyList" socket room
+ * The REST endpoint serves the same snapshot, using the version as ETag.
+ */
+@Slf4j
+@Component
+public class LobbyListCache {
+
+    public static final String ROOM = "lobbyList";
+    public static final String EVENT_SNAPSHOT = "lobbyListSnapshot";
+    public static final String EVENT_DELTA = "lobbyListDelta";
+
+    // a resync whose load overlapped with local changes is retried this often before waiting for the next run
+    private static final int RESYNC_ATTEMPTS = 3;
+
+    private static final Comparator<LobbyListItemDto> ORDER = Comparator.comparing(LobbyListItemDto::getName)
+            .thenComparing(LobbyListItemDto::getLobbyId);
+
+    private final LobbyRepository lobbyRepository;
+    private final LobbyListItemMapper lobbyListItemMapper;
+    private final RoomBroadcaster roomBroadcaster;
+
+    // guarded by this; snapshot is replaced (never modified) on every change
+    private final Map<UUID, LobbyListItemDto> lobbies = new LinkedHashMap<>();
+    // starts at the current time so ETags of a previous run never match
+    private long version = System.currentTimeMillis();
+    private volatile LobbyListSnapshotDto snapshot = new LobbyListSnapshotDto(version, List.of());
+
+    public LobbyListCache(LobbyRepository lobbyRepository, LobbyListItemMapper lobbyListItemMapper, RoomBroadcaster roomBroadcaster) {
+        this.lobbyRepository = lobbyRepository;
+        this.lobbyListItemMapper = lobbyListItemMapper;
+        this.roomBroadcaster = roomBroadcaster;
+    }
+
+    public LobbyListSnapshotDto getSnapshot() {
+        return snapshot;
+    }
+
+    // before the listeners that read the snapshot at startup (QuickJoinIndex)
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        resync();
+    }
+
+    /**
+     * Reloads the list from the DB; subscribers get a fresh snapshot if anything differs.
+     * The query runs without the lock, so a local change may be applied while it runs. Such a load may not
+     * contain that change and is discarded (the version tells), and the resync is retried.
+     */
+    @Scheduled(initialDelayString = "${lobby.list.resync-interval-ms:60000}", fixedDelayString = "${lobby.list.resync-interval-ms:60000}")
+    public void resync() {
+        for (int attempt = 0; attempt < RESYNC_ATTEMPTS; attempt++) {
+            long loadedAt;
+            synchronized (this) {
+                loadedAt = version;
+            }
+            List<LobbyListItemDto> loaded = lobbyListItemMapper.toDtos(lobbyRepository.findLobbyList());
+
+            LobbyListSnapshotDto changed;
+            synchronized (this) {
+                if (version != loadedAt) continue;
+
+                Map<UUID, LobbyListItemDto> fresh = new LinkedHashMap<>();
+                loaded.forEach(item -> fresh.put(item.getLobbyId(), item));
+                if (sameContent(fresh)) return;
+
+                lobbies.clear();
+                lobbies.putAll(fresh);
+                changed = publish();
+            }
+            roomBroadcaster.send(ROOM, EVENT_SNAPSHOT, changed);
+            log.debug("Lobby list resynced from DB: {} lobbies, version {}", loaded.size(), changed.getVersion());
+            return;
+        }
+        log.debug("Lobby list resync skipped: the list kept changing while it was loaded");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyCreated(LobbyCreatedEvent event) {
+        LobbyListItemDto item = event.lobby();
+        apply(item.getLobbyId(), lobbies -> {
+            lobbies.put(item.getLobbyId(), item);
+            return LobbyListDeltaDto.builder().type(LobbyListDeltaDto.CREATED).lobbyId(item.getLobbyId()).lobby(item);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(LobbyMembershipEvent event) {
+        UUID lobbyId = event.lobbyId();
+        apply(lobbyId, lobbies -> {
+            if (event.kind() == LobbyMembershipEvent.Kind.LOBBY_DELETED) {
+                return lobbies.remove(lobbyId) == null ? null
+                        : LobbyListDeltaDto.builder().type(LobbyListDeltaDto.DELETED).lobbyId(lobbyId);
+            }
+
+            LobbyListItemDto current = lobbies.get(lobbyId);
+            if (current == null) return null;
+            int playersCount = Math.max(0, current.getPlayersCount() + (event.kind() == LobbyMembershipEvent.Kind.JOINED ? 1 : -1));
+            lobbies.put(lobbyId, current.toBuilder().playersCount(playersCount).build());
+            return LobbyListDeltaDto.builder().type(LobbyListDeltaDto.PLAYERS_COUNT).lobbyId(lobbyId).playersCount(playersCount);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LobbyStatusChangedEvent event) {
+        UUID lobbyId = event.lobbyId();
+        apply(lobbyId, lobbies -> {
+            LobbyListItemDto current = lobbies.get(lobbyId);
+            if (current == null || current.getStatus() == event.status()) return null;
+            lobbies.put(lobbyId, current.toBuilder().status(event.status()).build());
+            return LobbyListDeltaDto.builder().type(LobbyListDeltaDto.STATUS).lobbyId(lobbyId).status(event.status());
+        });
+    }
+
+    /**
+     * Applies one change under the lock and pushes the resulting delta.
+     * The change returns null if it did not modify the list.
+     */
+    private void apply(UUID lobbyId, Function<Map<UUID, LobbyListItemDto>, LobbyListDeltaDto.LobbyListDeltaDtoBuilder> change) {
+        LobbyListDeltaDto delta;
+        synchronized (this) {
+            LobbyListDeltaDto.LobbyListDeltaDtoBuilder builder = change.apply(lobbies);
+            if (builder == null) return;
+            delta = builder.version(publish().getVersion()).build();
+        }
+        roomBroadcaster.send(ROOM, EVENT_DELTA, delta);
+        log.debug("Lobby list {} for lobby {}, version {}", delta.getType(), lobbyId, delta.getVersion());
+    }
+
+    // caller holds the lock
+    private LobbyListSnapshotDto publish() {
+        List<LobbyListItemDto> sorted = lobbies.values().stream().sorted(ORDER).toList();
+        snapshot = new LobbyListSnapshotDto(++version, sorted);
+        return snapshot;
+    }
+
+    // caller holds the lock
+    private boolean sameContent(Map<UUID, LobbyListItemDto> fresh) {
+        if (fresh.size() != lobbies.size()) return false;
+        for (LobbyListItemDto item : fresh.values()) {
+            LobbyListItemDto current = lobbies.get(item.getLobbyId());
+            if (current == null
+                    || current.getPlayersCount() != item.getPlayersCount()
+                    || current.getStatus() != item.getStatus()
+                    || !current.getName().equals(item.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
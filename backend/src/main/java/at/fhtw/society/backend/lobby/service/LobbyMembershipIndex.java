@@ -0,0 +1,98 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.common.cache.ExpiringCache;
+import at.fhtw.society.backend.lobby.event.LobbyMembershipEvent;
+import at.fhtw.society.backend.lobby.repo.LobbyMemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process index lobbyId -> playerIds, so chat can check membership without a DB round trip per message.
+ * Kept current by the committed LobbyMembershipEvents of this instance. Every entry is reloaded from the DB
+ * after a TTL, which bounds staleness from changes this instance did not see; at most max-lobbies lobbies are held.
+ * A missing entry is loaded once: the cache holds a future per lobby, so concurrent checks of the same lobby
+ * wait for the one load instead of querying the DB themselves. The query runs outside the cache's lock.
+ * Metrics: lobby.membership.cache (counter, result=hit|miss)
+ */
+@Component
+public class LobbyMembershipIndex {
+
+    private final LobbyMemberRepository lobbyMemberRepository;
+
+    private final ExpiringCache<UUID, CompletableFuture<Set<UUID>>> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public LobbyMembershipIndex(LobbyMemberRepository lobbyMemberRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${lobby.membership.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${lobby.membership.max-lobbies:10000}") int maxLobbies) {
+        this.lobbyMemberRepository = lobbyMemberRepository;
+        this.entries = new ExpiringCache<>(Duration.ofSeconds(ttlSeconds), maxLobbies);
+        this.hits = Counter.builder("lobby.membership.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("lobby.membership.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Checks if the player is a member of the lobby.
+     * @param lobbyId - ID of the lobby
+     * @param playerId - ID of the player
+     * @return true if the player is a member (a missing or expired entry is loaded from the DB first)
+     */
+    public boolean isMember(UUID lobbyId, UUID playerId) {
+        CompletableFuture<Set<UUID>> created = new CompletableFuture<>();
+        CompletableFuture<Set<UUID>> players = entries.computeIfAbsent(lobbyId, id -> created);
+        if (players != created) {
+            hits.increment();
+            return players.join().contains(playerId);
+        }
+
+        misses.increment();
+        try {
+            created.complete(load(lobbyId));
+        } catch (RuntimeException e) {
+            entries.invalidate(lobbyId);
+            created.completeExceptionally(e);
+            throw e;
+        }
+        return created.join().contains(playerId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(LobbyMembershipEvent event) {
+        switch (event.kind()) {
+            // only lobbies that are already indexed are updated; others are loaded on first use.
+            // A load still in flight may have read the DB before this change, so it is applied once the load is done
+            case JOINED -> update(event.lobbyId(), players -> players.add(event.playerId()));
+            case LEFT -> update(event.lobbyId(), players -> players.remove(event.playerId()));
+            case LOBBY_DELETED -> entries.invalidate(event.lobbyId());
+        }
+    }
+
+    private void update(UUID lobbyId, Consumer<Set<UUID>> change) {
+        CompletableFuture<Set<UUID>> players = entries.get(lobbyId);
+        if (players != null) players.thenAccept(change);
+    }
+
+    /** Number of indexed lobbies. */
+    int size() {
+        return entries.size();
+    }
+
+    private Set<UUID> load(UUID lobbyId) {
+        Set<UUID> players = ConcurrentHashMap.newKeySet();
+        players.addAll(lobbyMemberRepository.findPlayerIdsByLobbyId(lobbyId));
+        return players;
+    }
+}
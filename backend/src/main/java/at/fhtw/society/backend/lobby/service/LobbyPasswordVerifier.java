@@ -0,0 +1,129 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.common.cache.ExpiringCache;
+import at.fhtw.society.backend.lobby.exception.LobbyPasswordInvalidException;
+import at.fhtw.society.backend.lobby.exception.LobbyPasswordThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks lobby passwords outside of any transaction, on a small bounded pool (BCrypt is deliberately slow).
+ * The check is asynchronous: no request thread waits for the hashing.
+ * - a successful check is remembered per (player, lobby) for a short time, so re-joins skip the hashing
+ * - failed attempts are counted per lobby; above the limit further attempts are rejected (429) until the
+ *   window expires, so wrong-password floods cannot occupy the pool
+ * Metrics: lobby.password.checks (counter, result=cached|valid|invalid|throttled)
+ */
+@Slf4j
+@Component
+public class LobbyPasswordVerifier {
+
+    private static final long VERIFY_TIMEOUT_SECONDS = 5;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordTaskExecutor;
+    private final int maxFailures;
+
+    private final ExpiringCache<VerifiedKey, String> verified;
+    private final ExpiringCache<UUID, AtomicInteger> failures;
+
+    private final Counter cached;
+    private final Counter valid;
+    private final Counter invalid;
+    private final Counter throttled;
+
+    public LobbyPasswordVerifier(PasswordEncoder passwordEncoder,
+                                 ThreadPoolTaskExecutor passwordTaskExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${lobby.password.verified-ttl-seconds:300}") long verifiedTtlSeconds,
+                                 @Value("${lobby.password.max-failures:10}") int maxFailures,
+                                 @Value("${lobby.password.failure-window-seconds:60}") long failureWindowSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordTaskExecutor = passwordTaskExecutor;
+        this.maxFailures = maxFailures;
+        this.verified = new ExpiringCache<>(Duration.ofSeconds(verifiedTtlSeconds), 10_000);
+        this.failures = new ExpiringCache<>(Duration.ofSeconds(failureWindowSeconds), 10_000);
+
+        this.cached = Counter.builder("lobby.password.checks").tag("result", "cached").register(meterRegistry);
+        this.valid = Counter.builder("lobby.password.checks").tag("result", "valid").register(meterRegistry);
+        this.invalid = Counter.builder("lobby.password.checks").tag("result", "invalid").register(meterRegistry);
+        this.throttled = Counter.builder("lobby.password.checks").tag("result", "throttled").register(meterRegistry);
+    }
+
+    /**
+     * Verifies the password for a protected lobby.
+     * The returned future completes on the password pool once BCrypt ran (or right away for cached,
+     * throttled and blank attempts); it fails with
+     * - LobbyPasswordInvalidException if the password is missing or wrong
+     * - LobbyPasswordThrottledException if the lobby had too many failed attempts, or the pool is saturated
+     * @param lobbyId - ID of the lobby
+     * @param playerId - ID of the joining player
+     * @param passwordHash - stored hash of the lobby password
+     * @param rawPassword - password given by the player
+     */
+    public CompletableFuture<Void> verify(UUID lobbyId, UUID playerId, String passwordHash, String rawPassword) {
+        VerifiedKey key = new VerifiedKey(playerId, lobbyId);
+        if (passwordHash.equals(verified.get(key))) {
+            cached.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        AtomicInteger failed = failures.get(lobbyId);
+        if (failed != null && failed.get() >= maxFailures) {
+            throttled.increment();
+            return CompletableFuture.failedFuture(new LobbyPasswordThrottledException(lobbyId));
+        }
+
+        if (rawPassword == null || rawPassword.isBlank()) {
+            return CompletableFuture.failedFuture(rejected(lobbyId));
+        }
+
+        return matches(lobbyId, rawPassword, passwordHash).thenAccept(matches -> {
+            if (!matches) throw rejected(lobbyId);
+            valid.increment();
+            verified.put(key, passwordHash);
+        });
+    }
+
+    private LobbyPasswordInvalidException rejected(UUID lobbyId) {
+        invalid.increment();
+        failures.computeIfAbsent(lobbyId, id -> new AtomicInteger()).incrementAndGet();
+        return new LobbyPasswordInvalidException(lobbyId);
+    }
+
+    private CompletableFuture<Boolean> matches(UUID lobbyId, String rawPassword, String passwordHash) {
+        CompletableFuture<Boolean> check;
+        try {
+            check = CompletableFuture.supplyAsync(() -> passwordEncoder.matches(rawPassword, passwordHash), passwordTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(unavailable(lobbyId, e));
+        }
+        return check.orTimeout(VERIFY_TIMEOUT_SECONDS, TimeUnit.SECONDS).exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) throw unavailable(lobbyId, cause);
+            throw new IllegalStateException("Checking the lobby password failed", cause);
+        });
+    }
+
+    private LobbyPasswordThrottledException unavailable(UUID lobbyId, Throwable cause) {
+        throttled.increment();
+        log.warn("Password check for lobby {} not possible: {}", lobbyId, cause.toString());
+        return new LobbyPasswordThrottledException(lobbyId);
+    }
+
+    private record VerifiedKey(UUID playerId, UUID lobbyId) {}
+}
@@ -1,24 +1,42 @@
 package at.fhtw.society.backend.lobby.service;
 
 import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.dto.LobbyListSnapshotDto;
+import at.fhtw.society.backend.lobby.dto.LobbyPageDto;
 import at.fhtw.society.backend.lobby.entity.Lobby;
 import at.fhtw.society.backend.lobby.mapper.LobbyListItemMapper;
+import at.fhtw.society.backend.lobby.repo.LobbyListFilter;
 import at.fhtw.society.backend.lobby.repo.LobbyListItemRow;
 import at.fhtw.society.backend.lobby.repo.LobbyRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class LobbyQueryService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final LobbyRepository lobbyRepository;
     private final LobbyListItemMapper lobbyListItemMapper;
+    private final LobbyListCache lobbyListCache;
 
-    public LobbyQueryService(LobbyRepository lobbyRepository, LobbyListItemMapper lobbyListItemMapper) {
+    public LobbyQueryService(LobbyRepository lobbyRepository, LobbyListItemMapper lobbyListItemMapper, LobbyListCache lobbyListCache) {
         this.lobbyRepository = lobbyRepository;
         this.lobbyListItemMapper = lobbyListItemMapper;
+        this.lobbyListCache = lobbyListCache;
+    }
+
+    /**
+     * Returns the in-memory lobby list (no DB query). The version changes whenever the list changes.
+     * @return the current lobby list snapshot
+     */
+    public LobbyListSnapshotDto getLobbyListSnapshot() {
+        return lobbyListCache.getSnapshot();
     }
 
     @Transactional(readOnly = true)
@@ -26,4 +44,47 @@ public class LobbyQueryService {
         return lobbyListItemMapper.toDtos(lobbyRepository.findLobbyList());
     }
 
+    /**
+     * Returns one page of the lobby list, ordered by name (and id for equal names).
+     * @param filter - filters to apply
+     * @param cursor - nextCursor of the previous page, or null for the first page
+     * @param limit - page size (capped at 100)
+     * @return the page and the cursor of the next page (null if this is the last page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public LobbyPageDto getLobbyPage(LobbyListFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        CursorPosition after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : new CursorPosition(null, null);
+
+        // one extra row tells whether there is a next page
+        List<LobbyListItemDto> lobbies = lobbyRepository.findLobbyPage(filter, after.name(), after.id(), pageSize + 1);
+        if (lobbies.size() <= pageSize) {
+            return new LobbyPageDto(lobbies, null);
+        }
+
+        List<LobbyListItemDto> page = lobbies.subList(0, pageSize);
+        LobbyListItemDto last = page.get(pageSize - 1);
+        return new LobbyPageDto(List.copyOf(page), encodeCursor(last.getName(), last.getLobbyId()));
+    }
+
+    // cursor = base64url("<name>\n<id>"); the id is the last line, so the name may contain anything
+    static String encodeCursor(String name, UUID id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((name + "\n" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorPosition decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('\n');
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor");
+            return new CursorPosition(decoded.substring(0, separator), UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    record CursorPosition(String name, UUID id) {}
 }
@@ -0,0 +1,33 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.lobby.repo.LobbyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes lobby.seats_taken from lobby_members on startup, so lobbies created before the column
+ * existed (or counters left off by a crash) start from the real member count.
+ */
+@Slf4j
+@Component
+public class LobbySeatReconciler {
+
+    private final LobbyRepository lobbyRepository;
+
+    public LobbySeatReconciler(LobbyRepository lobbyRepository) {
+        this.lobbyRepository = lobbyRepository;
+    }
+
+    // before the lobby list and quick-join index are loaded
+    @Order(-10)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcile() {
+        int lobbies = lobbyRepository.reconcileSeatsTaken();
+        log.info("Reconciled seats_taken of {} lobbies", lobbies);
+    }
+}
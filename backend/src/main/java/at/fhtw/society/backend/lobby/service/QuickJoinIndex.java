@@ -0,0 +1,177 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.event.LobbyCreatedEvent;
+import at.fhtw.society.backend.lobby.event.LobbyMembershipEvent;
+import at.fhtw.society.backend.lobby.event.LobbyStatusChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * In-memory index of the lobbies quick-join may put players into: OPEN lobbies without password.
+ * Seats are handed out in memory first (reserve/release), so concurrent quick-joins are spread over
+ * the free seats instead of all racing for the conditional seat UPDATE of the same lobby and failing as "full".
+ * Lobbies with free seats are kept ordered by free seats, per theme and overall, so a reservation takes the
+ * first entry instead of scanning all lobbies. Every change re-positions the lobby (O(log n) under one lock).
+ * Member counts follow the committed lobby events; the index is resynced from the LobbyListCache snapshot.
+ */
+@Component
+public class QuickJoinIndex {
+
+    // fewest free seats first (fills lobbies up instead of spreading players)
+    private static final Comparator<Slot> ORDER = Comparator.comparingInt(Slot::freeSeats)
+            .thenComparing(slot -> slot.lobbyId);
+
+    private final LobbyListCache lobbyListCache;
+
+    // all guarded by this; a slot is in the free sets exactly while it has a free seat
+    private final Map<UUID, Slot> slots = new HashMap<>();
+    private final Map<UUID, TreeSet<Slot>> freeByTheme = new HashMap<>();
+    private final TreeSet<Slot> free = new TreeSet<>(ORDER);
+
+    public QuickJoinIndex(LobbyListCache lobbyListCache) {
+        this.lobbyListCache = lobbyListCache;
+    }
+
+    /**
+     * Reserves a seat in the lobby with the fewest free seats.
+     * The reservation must be released with release() once the join has committed or failed.
+     * @param themeId - only lobbies with this theme, or null for any theme
+     * @return the lobby a seat was reserved in, or empty if no lobby has a free seat
+     */
+    public synchronized Optional<UUID> reserve(UUID themeId) {
+        TreeSet<Slot> candidates = themeId == null ? free : freeByTheme.get(themeId);
+        if (candidates == null || candidates.isEmpty()) return Optional.empty();
+
+        Slot slot = candidates.first();
+        change(slot, () -> slot.reserved++);
+        return Optional.of(slot.lobbyId);
+    }
+
+    public synchronized void release(UUID lobbyId) {
+        Slot slot = slots.get(lobbyId);
+        if (slot != null) change(slot, () -> slot.reserved = Math.max(0, slot.reserved - 1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${lobby.list.resync-interval-ms:60000}", fixedDelayString = "${lobby.list.resync-interval-ms:60000}")
+    public synchronized void resync() {
+        Set<UUID> present = new HashSet<>();
+        for (LobbyListItemDto lobby : lobbyListCache.getSnapshot().getLobbies()) {
+            if (!isQuickJoinable(lobby)) continue;
+            present.add(lobby.getLobbyId());
+            // keep existing slots (and their reservations), only correct the member count
+            Slot slot = slots.get(lobby.getLobbyId());
+            if (slot == null) {
+                add(lobby);
+            } else {
+                change(slot, () -> slot.members = lobby.getPlayersCount());
+            }
+        }
+        Set.copyOf(slots.keySet()).stream().filter(id -> !present.contains(id)).forEach(this::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLobbyCreated(LobbyCreatedEvent event) {
+        LobbyListItemDto lobby = event.lobby();
+        if (!isQuickJoinable(lobby)) return;
+        remove(lobby.getLobbyId());
+        add(lobby);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMembershipChanged(LobbyMembershipEvent event) {
+        Slot slot = slots.get(event.lobbyId());
+        if (slot == null) return;
+        switch (event.kind()) {
+            case JOINED -> change(slot, () -> slot.members++);
+            case LEFT -> change(slot, () -> slot.members = Math.max(0, slot.members - 1));
+            case LOBBY_DELETED -> remove(event.lobbyId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatusChanged(LobbyStatusChangedEvent event) {
+        if (event.status() != LobbyStatus.OPEN) remove(event.lobbyId());
+    }
+
+    // caller holds the lock
+    private void add(LobbyListItemDto lobby) {
+        Slot slot = new Slot(lobby.getLobbyId(), lobby.getThemeId(), lobby.getMaxPlayers());
+        slot.members = lobby.getPlayersCount();
+        slots.put(slot.lobbyId, slot);
+        index(slot);
+    }
+
+    // caller holds the lock
+    private void remove(UUID lobbyId) {
+        Slot slot = slots.remove(lobbyId);
+        if (slot != null) unindex(slot);
+    }
+
+    /**
+     * Applies a change to the seats of a slot and re-positions it (its order key is the number of free seats).
+     * Caller holds the lock.
+     */
+    private void change(Slot slot, Runnable change) {
+        unindex(slot);
+        change.run();
+        index(slot);
+    }
+
+    // caller holds the lock
+    private void index(Slot slot) {
+        if (slot.freeSeats() <= 0) return;
+        free.add(slot);
+        if (slot.themeId != null) freeByTheme.computeIfAbsent(slot.themeId, id -> new TreeSet<>(ORDER)).add(slot);
+    }
+
+    // caller holds the lock
+    private void unindex(Slot slot) {
+        free.remove(slot);
+        TreeSet<Slot> byTheme = slot.themeId != null ? freeByTheme.get(slot.themeId) : null;
+        if (byTheme != null) {
+            byTheme.remove(slot);
+            if (byTheme.isEmpty()) freeByTheme.remove(slot.themeId);
+        }
+    }
+
+    private static boolean isQuickJoinable(LobbyListItemDto lobby) {
+        return lobby.getStatus() == LobbyStatus.OPEN && !lobby.isHasPassword();
+    }
+
+    /**
+     * Seats of one lobby: committed members plus seats reserved by quick-joins in progress.
+     * Guarded by the index's lock; only changed through change() while it is in the ordered sets.
+     */
+    private static final class Slot {
+        private final UUID lobbyId;
+        private final UUID themeId;
+        private final int maxPlayers;
+        private int members;
+        private int reserved;
+
+        private Slot(UUID lobbyId, UUID themeId, int maxPlayers) {
+            this.lobbyId = lobbyId;
+            this.themeId = themeId;
+            this.maxPlayers = maxPlayers;
+        }
+
+        int freeSeats() {
+            return maxPlayers - members - reserved;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.game.entity.Theme;
+import at.fhtw.society.backend.game.repo.ThemeRepository;
+import at.fhtw.society.backend.lobby.dto.CreateLobbyRequestDto;
+import at.fhtw.society.backend.lobby.dto.LobbyViewDto;
+import at.fhtw.society.backend.lobby.exception.LobbyFullException;
+import at.fhtw.society.backend.lobby.exception.LobbyNotFoundException;
+import at.fhtw.society.backend.lobby.exception.LobbyNotJoinableException;
+import at.fhtw.society.backend.lobby.exception.LobbyPasswordInvalidException;
+import at.fhtw.society.backend.lobby.exception.QuickJoinUnavailableException;
+import at.fhtw.society.backend.lobby.exception.ThemeNotFoundException;
+import at.fhtw.society.backend.security.jwt.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quick-join: puts the player into an open, passwordless lobby with a free seat, or creates one.
+ * - seats are reserved in the QuickJoinIndex before the join (whose conditional seats_taken UPDATE is the
+ *   actual capacity check), so concurrent players are spread over the free seats and the join rarely fails
+ * - if no lobby has a free seat, only one player per theme creates a new lobby; concurrent players
+ *   wait for it and then take its seats, instead of every player creating a lobby of their own. Waiting holds
+ *   no thread: the retry is chained on the creation and runs on the gameTaskExecutor
+ * Metrics: lobby.quickjoin (counter, result=joined|created)
+ */
+@Slf4j
+@Service
+public class QuickJoinService {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long CREATE_WAIT_SECONDS = 5;
+
+    private final QuickJoinIndex quickJoinIndex;
+    private final LobbyCommandService lobbyCommandService;
+    private final ThemeRepository themeRepository;
+    private final ThreadPoolTaskExecutor gameTaskExecutor;
+
+    private final int maxPlayers;
+    private final int maxRounds;
+
+    // lobby creation in progress per theme
+    private final ConcurrentHashMap<UUID, CompletableFuture<UUID>> creating = new ConcurrentHashMap<>();
+
+    private final Counter joined;
+    private final Counter created;
+
+    public QuickJoinService(QuickJoinIndex quickJoinIndex,
+                            LobbyCommandService lobbyCommandService,
+                            ThemeRepository themeRepository,
+                            ThreadPoolTaskExecutor gameTaskExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${lobby.quick-join.max-players:6}") int maxPlayers,
+                            @Value("${lobby.quick-join.max-rounds:5}") int maxRounds) {
+        this.quickJoinIndex = quickJoinIndex;
+        this.lobbyCommandService = lobbyCommandService;
+        this.themeRepository = themeRepository;
+        this.gameTaskExecutor = gameTaskExecutor;
+        this.maxPlayers = maxPlayers;
+        this.maxRounds = maxRounds;
+        this.joined = Counter.builder("lobby.quickjoin").tag("result", "joined").register(meterRegistry);
+        this.created = Counter.builder("lobby.quickjoin").tag("result", "created").register(meterRegistry);
+    }
+
+    /**
+     * Joins the player into a lobby with a free seat, or creates a new lobby with the player as gamemaster.
+     * The returned future fails with QuickJoinUnavailableException if no lobby could be joined or created
+     * after a few attempts.
+     * @param themeId - preferred theme, or null for any theme
+     * @param identity - identity of the joining player
+     * @return future of the DTO representing the joined (or created) lobby
+     */
+    public CompletableFuture<LobbyViewDto> quickJoin(UUID themeId, JwtService.PlayerIdentity identity) {
+        return attempt(themeId, identity, 0);
+    }
+
+    private CompletableFuture<LobbyViewDto> attempt(UUID themeId, JwtService.PlayerIdentity identity, int attempt) {
+        if (attempt >= MAX_ATTEMPTS) {
+            return CompletableFuture.failedFuture(new QuickJoinUnavailableException());
+        }
+
+        Optional<UUID> seat = quickJoinIndex.reserve(themeId);
+        if (seat.isPresent()) {
+            UUID lobbyId = seat.get();
+            try {
+                LobbyViewDto view = lobbyCommandService.joinLobbyWithoutPassword(lobbyId, identity);
+                joined.increment();
+                return CompletableFuture.completedFuture(view);
+            } catch (LobbyFullException | LobbyNotJoinableException | LobbyNotFoundException | LobbyPasswordInvalidException e) {
+                // the index was behind (e.g. a change on another instance); try the next lobby
+                log.debug("Quick-join into lobby {} failed: {}", lobbyId, e.getMessage());
+                return attempt(themeId, identity, attempt + 1);
+            } finally {
+                quickJoinIndex.release(lobbyId);
+            }
+        }
+
+        UUID creationTheme = themeId != null ? themeId : defaultThemeId();
+        CompletableFuture<UUID> creation = new CompletableFuture<>();
+        CompletableFuture<UUID> running = creating.putIfAbsent(creationTheme, creation);
+        if (running == null) {
+            try {
+                LobbyViewDto view = lobbyCommandService.createLobby(newLobbyRequest(creationTheme), identity);
+                created.increment();
+                creation.complete(view.getLobbyId());
+                return CompletableFuture.completedFuture(view);
+            } catch (RuntimeException e) {
+                creation.completeExceptionally(e);
+                return CompletableFuture.failedFuture(e);
+            } finally {
+                creating.remove(creationTheme, creation);
+            }
+        }
+
+        // another player is creating a lobby for this theme; take a seat in it once it exists (or retry after
+        // the wait). Async, so the retry does not run on the creating player's thread
+        return running
+                .handle((lobbyId, ex) -> {
+                    if (ex != null) log.debug("Waiting for quick-join lobby creation failed: {}", ex.getMessage());
+                    return lobbyId;
+                })
+                .completeOnTimeout(null, CREATE_WAIT_SECONDS, TimeUnit.SECONDS)
+                .thenComposeAsync(lobbyId -> attempt(themeId, identity, attempt + 1), gameTaskExecutor);
+    }
+
+    private CreateLobbyRequestDto newLobbyRequest(UUID themeId) {
+        CreateLobbyRequestDto request = new CreateLobbyRequestDto();
+        request.setName("Quick match " + UUID.randomUUID().toString().substring(0, 8));
+        request.setThemeId(themeId);
+        request.setMaxPlayers(maxPlayers);
+        request.setMaxRounds(maxRounds);
+        return request;
+    }
+
+    // players without a preference all end up in the same theme, so they fill the same lobbies
+    private UUID defaultThemeId() {
+        return themeRepository.findAll().stream()
+                .min(Comparator.comparing(Theme::getTheme))
+                .map(Theme::getId)
+                .orElseThrow(() -> new ThemeNotFoundException(null));
+    }
+}
@@ -33,6 +33,7 @@ public class SecurityConfiguration {
                                 "/v3/api-docs/**"
                         ).permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/session/guest").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
                         // TODO: after login implementation add:
                         // .requestMatchers("/api/auth/**").permitAll()
                         .anyRequest().authenticated()
@@ -0,0 +1,34 @@
+package at.fhtw.society.backend.security.jwt;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * JwtDecoder that verifies a token once and then serves it from the VerifiedTokenCache until it expires.
+ * Tokens that fail verification are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final VerifiedTokenCache cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, VerifiedTokenCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        Jwt cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        cache.put(jwt);
+        return jwt;
+    }
+}
@@ -18,7 +18,7 @@ import java.util.Base64;
  * JWT crypto configuration for HS256 algorithm (HMAC with SHA-256).
  * - Builds a SecretKey for our configured "security.jwt.secret"
  * - Exposes a JwtEncoder bean (used to sign tokens)
- * - Exposes a JwtDecoder bean (used to verify and parse tokens)
+ * - Exposes a JwtDecoder bean (used to verify and parse tokens, cached per token until it expires)
  */
 
 @Configuration
@@ -77,13 +77,15 @@ public class JwtCryptoConfig {
      * JwtDecoder is used when we RECEIVE (validate) JWT tokens.
      * NimbusJwtDecoder verifies the token's signature using the provided SecretKey.
      * It also validates standard claims like issuer and expiration.
+     * Verified tokens are cached (see VerifiedTokenCache), so a token is only fully verified once.
      *
      * @param jwtSecretKey the SecretKey used for verification
      * @param jwtProperties the JWT properties containing validation settings
+     * @param verifiedTokenCache the cache of already verified tokens
      * @return the JwtDecoder
      */
     @Bean
-    public JwtDecoder jwtDecoder(SecretKey jwtSecretKey, JwtProperties jwtProperties) {
+    public JwtDecoder jwtDecoder(SecretKey jwtSecretKey, JwtProperties jwtProperties, VerifiedTokenCache verifiedTokenCache) {
         // Build the NimbusJwtDecoder with the secret key and HS256 algorithm
         NimbusJwtDecoder decoder = NimbusJwtDecoder
                 .withSecretKey(jwtSecretKey)
@@ -96,7 +98,7 @@ public class JwtCryptoConfig {
                 JwtValidators.createDefaultWithIssuer(jwtProperties.getIssuer());
 
         decoder.setJwtValidator(validator);
-        return decoder;
+        return new CachingJwtDecoder(decoder, verifiedTokenCache);
     }
 
     // -------------------------------------------------------------
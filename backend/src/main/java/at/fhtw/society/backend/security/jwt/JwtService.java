@@ -18,13 +18,16 @@ public class JwtService {
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
     private final JwtProperties jwtProperties;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public JwtService(JwtEncoder jwtEncoder,
                       JwtDecoder jwtDecoder,
-                      JwtProperties jwtProperties) {
+                      JwtProperties jwtProperties,
+                      VerifiedTokenCache verifiedTokenCache) {
         this.jwtEncoder = jwtEncoder;
         this.jwtDecoder = jwtDecoder;
         this.jwtProperties = jwtProperties;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     /**
@@ -75,6 +78,7 @@ public class JwtService {
      * - signatur (using HS256 and our secret key)
      * - issuer
      * - expiration time
+     * Tokens verified before are served from the VerifiedTokenCache until they expire.
      *
      * @param token the JWT token string
      * @return the decoded Jwt object
@@ -86,12 +90,17 @@ public class JwtService {
 
     /**
      * Converts the given Jwt object into a PlayerIdentity.
+     * The identity is read once per verified token and then served from the VerifiedTokenCache.
      *
      * @param jwt the Jwt object
      * @return the PlayerIdentity extracted from the Jwt
      * @throws JwtException if required claims are missing or invalid
      */
     public PlayerIdentity toPlayerIdentity(Jwt jwt) {
+        return verifiedTokenCache.identity(jwt, this::readPlayerIdentity);
+    }
+
+    private PlayerIdentity readPlayerIdentity(Jwt jwt) {
         UUID playerId = UUID.fromString(jwt.getSubject());
         String name = getRequiredStringClaim(jwt, CLAIM_NAME);
         String avatarIdRaw = getRequiredStringClaim(jwt, CLAIM_AVATAR_ID);
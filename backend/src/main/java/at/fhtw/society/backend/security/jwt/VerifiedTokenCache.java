@@ -0,0 +1,97 @@
+package at.fhtw.society.backend.security.jwt;
+
+import at.fhtw.society.backend.common.cache.ExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of already verified tokens, shared by the JwtDecoder bean (REST) and the socket handshake.
+ * - keyed by the SHA-256 of the token, so raw bearer tokens are not kept in memory
+ * - an entry is only used until the token's "exp"; after that the token goes through full verification again
+ * - the PlayerIdentity read from a token is cached alongside the Jwt
+ * Only successfully verified tokens are cached.
+ * Metrics: security.jwt.cache (counter, result=hit|miss), security.jwt.cache.size (gauge)
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final ExpiringCache<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${security.jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${security.jwt.cache.ttl-minutes:15}") long ttlMinutes) {
+        this.entries = new ExpiringCache<>(Duration.ofMinutes(ttlMinutes), maxSize);
+        this.hits = Counter.builder("security.jwt.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("security.jwt.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", entries, ExpiringCache::size).register(meterRegistry);
+    }
+
+    /** Returns the verified Jwt for the token, or null if it is not cached (or has expired). */
+    Jwt get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null || isExpired(entry.jwt)) {
+            if (entry != null) entries.invalidate(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.jwt;
+    }
+
+    void put(Jwt jwt) {
+        entries.put(hash(jwt.getTokenValue()), new Entry(jwt));
+    }
+
+    /** Returns the identity of a verified token, computing it once per cached token. */
+    JwtService.PlayerIdentity identity(Jwt jwt, Function<Jwt, JwtService.PlayerIdentity> reader) {
+        Entry entry = entries.get(hash(jwt.getTokenValue()));
+        if (entry == null) {
+            return reader.apply(jwt);
+        }
+        JwtService.PlayerIdentity identity = entry.identity;
+        if (identity == null) {
+            identity = reader.apply(jwt);
+            entry.identity = identity;
+        }
+        return identity;
+    }
+
+    private static boolean isExpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Jwt jwt;
+        private volatile JwtService.PlayerIdentity identity;
+
+        private Entry(Jwt jwt) {
+            this.jwt = jwt;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package at.fhtw.society.backend.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiResilienceTest {
+
+    private static final List<Message> REPLY = List.of(new Message("assistant", "reply"));
+    private static final List<Message> HEDGED_REPLY = List.of(new Message("assistant", "hedged"));
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeepinfraProperties properties;
+    private AiResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new DeepinfraProperties();
+        DeepinfraProperties.Resilience props = properties.getResilience();
+        props.setTimeouts(Map.of("slow", Duration.ofMillis(50)));
+        props.setDefaultTimeout(Duration.ofSeconds(5));
+        props.setHedgeMinSamples(1);
+        props.setHedgeMinDelay(Duration.ofMillis(20));
+        props.setBreakerFailureThreshold(2);
+        props.setBreakerOpenDuration(Duration.ofMillis(100));
+        resilience = new AiResilience(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resilience.shutdown();
+    }
+
+    @Test
+    @DisplayName("a call slower than the step's timeout fails with a TimeoutException")
+    void timesOut() {
+        CompletableFuture<List<Message>> result = resilience.call("slow", CompletableFuture::new, null);
+
+        assertThatThrownBy(() -> result.get(2, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(meterRegistry.counter("ai.calls", "step", "slow", "result", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a call slower than the step's p95 is hedged and the first reply wins")
+    void hedgesSlowCall() throws Exception {
+        resilience.call("dilemma", () -> CompletableFuture.completedFuture(REPLY), null).get(1, TimeUnit.SECONDS);
+
+        CompletableFuture<List<Message>> result = resilience.call("dilemma", CompletableFuture::new,
+                () -> CompletableFuture.completedFuture(HEDGED_REPLY));
+
+        assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo(HEDGED_REPLY);
+        assertThat(meterRegistry.counter("ai.calls.hedged", "step", "dilemma").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("no hedge is sent while the step has too few latency samples")
+    void doesNotHedgeWithoutSamples() throws Exception {
+        CompletableFuture<List<Message>> first = new CompletableFuture<>();
+        AtomicInteger hedges = new AtomicInteger();
+
+        CompletableFuture<List<Message>> result = resilience.call("dilemma", () -> first, () -> {
+            hedges.incrementAndGet();
+            return CompletableFuture.completedFuture(HEDGED_REPLY);
+        });
+        Thread.sleep(100);
+        first.complete(REPLY);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(REPLY);
+        assertThat(hedges).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("consecutive failures open the circuit and further calls are rejected without being sent")
+    void opensCircuit() {
+        fail("outcome");
+        fail("outcome");
+
+        AtomicInteger sent = new AtomicInteger();
+        CompletableFuture<List<Message>> rejected = resilience.call("outcome", () -> {
+            sent.incrementAndGet();
+            return CompletableFuture.completedFuture(REPLY);
+        }, null);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(AiUnavailableException.class);
+        assertThat(sent).hasValue(0);
+        assertThat(meterRegistry.get("ai.circuit.open").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("after the open duration a single trial call is let through; its success closes the circuit")
+    void halfOpenTrialClosesCircuit() throws Exception {
+        fail("outcome");
+        fail("outcome");
+        Thread.sleep(150);
+
+        CompletableFuture<List<Message>> trial = new CompletableFuture<>();
+        CompletableFuture<List<Message>> trialResult = resilience.call("outcome", () -> trial, null);
+        CompletableFuture<List<Message>> whileTrialRuns =
+                resilience.call("outcome", () -> CompletableFuture.completedFuture(REPLY), null);
+        assertThat(whileTrialRuns).isCompletedExceptionally();
+
+        trial.complete(REPLY);
+        assertThat(trialResult.get(1, TimeUnit.SECONDS)).isEqualTo(REPLY);
+        assertThat(resilience.call("outcome", () -> CompletableFuture.completedFuture(REPLY), null).get(1, TimeUnit.SECONDS))
+                .isEqualTo(REPLY);
+        assertThat(meterRegistry.get("ai.circuit.open").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("a failed trial call opens the circuit again")
+    void halfOpenTrialFailureReopensCircuit() throws Exception {
+        fail("outcome");
+        fail("outcome");
+        Thread.sleep(150);
+
+        fail("outcome");
+
+        assertThat(resilience.call("outcome", () -> CompletableFuture.completedFuture(REPLY), null))
+                .isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("cancelled speculative calls neither open the circuit nor count as failures")
+    void cancellationsDoNotOpenCircuit() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<List<Message>> request = new CompletableFuture<>();
+            CompletableFuture<List<Message>> result = resilience.call("speculation", () -> request, null);
+            request.cancel(false);
+            assertThat(result).isCompletedExceptionally();
+        }
+        // a cancellation that reaches the call wrapped in a CompletionException
+        CompletableFuture<List<Message>> cancelled = new CompletableFuture<>();
+        CompletableFuture<List<Message>> wrapped = resilience.call("speculation", () -> cancelled.thenApply(m -> m), null);
+        cancelled.cancel(false);
+        assertThat(wrapped).isCompletedExceptionally();
+
+        assertThat(resilience.call("dilemma", () -> CompletableFuture.completedFuture(REPLY), null).get(1, TimeUnit.SECONDS))
+                .isEqualTo(REPLY);
+        assertThat(meterRegistry.get("ai.circuit.open").gauge().value()).isZero();
+        assertThat(meterRegistry.counter("ai.calls", "step", "speculation", "result", "failure").count()).isZero();
+        assertThat(meterRegistry.counter("ai.calls", "step", "speculation", "result", "cancelled").count()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("a cancelled trial call leaves the next call as the trial")
+    void cancelledTrialDoesNotBlockCircuit() throws Exception {
+        fail("outcome");
+        fail("outcome");
+        Thread.sleep(150);
+
+        CompletableFuture<List<Message>> trial = new CompletableFuture<>();
+        resilience.call("outcome", () -> trial, null);
+        trial.cancel(false);
+
+        assertThat(resilience.call("outcome", () -> CompletableFuture.completedFuture(REPLY), null).get(1, TimeUnit.SECONDS))
+                .isEqualTo(REPLY);
+    }
+
+    private void fail(String step) {
+        CompletableFuture<List<Message>> result = resilience.call(step,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("provider down")), null);
+        assertThat(result).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,128 @@
+package at.fhtw.society.backend.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiSchedulerTest {
+
+    private static final long NO_AGING = 60_000;
+
+    private AiScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("waiting requests are started by priority class")
+    void startsByPriority() {
+        scheduler = new AiScheduler(new SimpleMeterRegistry(), 1, 1_000_000, 3000, NO_AGING);
+        List<String> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> blocker = occupySlot();
+
+        submit(null, AiPriority.BACKGROUND, "background", started);
+        submit(UUID.randomUUID(), AiPriority.SPECULATIVE, "speculative", started);
+        submit(UUID.randomUUID(), AiPriority.INTERACTIVE, "interactive", started);
+        assertThat(started).isEmpty();
+
+        blocker.complete("done");
+
+        assertThat(started).containsExactly("interactive", "speculative", "background");
+    }
+
+    @Test
+    @DisplayName("within a class, games take turns instead of one game draining its queue first")
+    void roundRobinPerGame() {
+        scheduler = new AiScheduler(new SimpleMeterRegistry(), 1, 1_000_000, 3000, NO_AGING);
+        List<String> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> blocker = occupySlot();
+        UUID gameA = UUID.randomUUID();
+        UUID gameB = UUID.randomUUID();
+
+        submit(gameA, AiPriority.SPECULATIVE, "a1", started);
+        submit(gameA, AiPriority.SPECULATIVE, "a2", started);
+        submit(gameA, AiPriority.SPECULATIVE, "a3", started);
+        submit(gameB, AiPriority.SPECULATIVE, "b1", started);
+        submit(gameB, AiPriority.SPECULATIVE, "b2", started);
+
+        blocker.complete("done");
+
+        assertThat(started).containsExactly("a1", "b1", "a2", "b2", "a3");
+    }
+
+    @Test
+    @DisplayName("a cancelled request is skipped and never started")
+    void skipsCancelled() {
+        scheduler = new AiScheduler(new SimpleMeterRegistry(), 1, 1_000_000, 3000, NO_AGING);
+        List<String> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> blocker = occupySlot();
+
+        CompletableFuture<String> cancelled = submit(UUID.randomUUID(), AiPriority.SPECULATIVE, "cancelled", started);
+        submit(UUID.randomUUID(), AiPriority.SPECULATIVE, "kept", started);
+        cancelled.cancel(false);
+
+        blocker.complete("done");
+
+        assertThat(started).containsExactly("kept");
+    }
+
+    @Test
+    @DisplayName("a request that has waited past the aging threshold goes before newer higher-priority requests")
+    void agedRequestsAreServed() throws Exception {
+        scheduler = new AiScheduler(new SimpleMeterRegistry(), 1, 1_000_000, 3000, 50);
+        List<String> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> blocker = occupySlot();
+
+        submit(null, AiPriority.BACKGROUND, "background", started);
+        Thread.sleep(100);
+        submit(UUID.randomUUID(), AiPriority.SPECULATIVE, "speculative", started);
+        submit(UUID.randomUUID(), AiPriority.INTERACTIVE, "interactive", started);
+
+        blocker.complete("done");
+
+        assertThat(started).containsExactly("background", "interactive", "speculative");
+    }
+
+    @Test
+    @DisplayName("requests wait once the token budget is used up and start after it has refilled")
+    void waitsForTokenBudget() throws Exception {
+        // every request without history is estimated at 512 completion tokens
+        scheduler = new AiScheduler(new SimpleMeterRegistry(), 8, 1_000, 3000, NO_AGING);
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        submit(UUID.randomUUID(), AiPriority.INTERACTIVE, "first", started);
+        CompletableFuture<String> second = submit(UUID.randomUUID(), AiPriority.INTERACTIVE, "second", started);
+
+        assertThat(started).containsExactly("first");
+        assertThat(second).isNotDone();
+
+        // 24 missing tokens at 1000 per minute take about 1.5 s to refill
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(started).containsExactly("first", "second");
+    }
+
+    /** Submits a request that keeps the only slot busy until the returned future is completed. */
+    private CompletableFuture<String> occupySlot() {
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        scheduler.submit(UUID.randomUUID(), AiPriority.INTERACTIVE, List.of(), () -> blocker);
+        return blocker;
+    }
+
+    private CompletableFuture<String> submit(UUID gameId, AiPriority priority, String name, List<String> started) {
+        return scheduler.submit(gameId, priority, List.of(), () -> {
+            started.add(name);
+            return CompletableFuture.completedFuture(name);
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package at.fhtw.society.backend.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiSingleFlightTest {
+
+    private static final UUID GAME = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AiSingleFlight singleFlight;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new AiSingleFlight(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("a request for the same game, step and history shares the one in flight")
+    void sharesIdenticalRequests() {
+        CompletableFuture<List<Message>> reply = new CompletableFuture<>();
+
+        CompletableFuture<List<Message>> first = singleFlight.call(GAME, "outcome:1", history("a"), () -> request(reply));
+        CompletableFuture<List<Message>> second = singleFlight.call(GAME, "outcome:1", history("a"), () -> request(reply));
+        reply.complete(List.of(new Message("assistant", "done")));
+
+        assertThat(calls).hasValue(1);
+        assertThat(first.join()).hasSize(1);
+        assertThat(second.join()).hasSize(1).isNotSameAs(first.join());
+        assertThat(meterRegistry.get("ai.singleflight.calls").tag("result", "deduplicated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("requests of the same step with a different history are not merged")
+    void separatesDifferentHistories() {
+        CompletableFuture<List<Message>> reply = new CompletableFuture<>();
+
+        singleFlight.call(GAME, "outcome:1", history("a"), () -> request(reply));
+        singleFlight.call(GAME, "outcome:1", history("b"), () -> request(reply));
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("nothing is shared once the request completed")
+    void noCaching() {
+        singleFlight.call(GAME, "final", history("a"), () -> request(CompletableFuture.completedFuture(List.of()))).join();
+        singleFlight.call(GAME, "final", history("a"), () -> request(CompletableFuture.completedFuture(List.of()))).join();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private CompletableFuture<List<Message>> request(CompletableFuture<List<Message>> reply) {
+        calls.incrementAndGet();
+        return reply;
+    }
+
+    private static List<Message> history(String prompt) {
+        return List.of(new Message("system", "context"), new Message("user", prompt));
+    }
+}
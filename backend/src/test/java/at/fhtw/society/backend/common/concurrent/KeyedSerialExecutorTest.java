@@ -0,0 +1,109 @@
+package at.fhtw.society.backend.common.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class KeyedSerialExecutorTest {
+
+    private ExecutorService pool;
+    private KeyedSerialExecutor<String> executor;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(8);
+        executor = new KeyedSerialExecutor<>(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("tasks of one key run one at a time, in submission order")
+    void serialPerKey() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            tasks.add(executor.execute("game", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                // not synchronized: the executor must provide the ordering and visibility
+                order.add(n);
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(maxRunning).hasValue(1);
+        assertThat(order).hasSize(100).isSorted();
+    }
+
+    @Test
+    @DisplayName("a blocked key does not hold up other keys")
+    void keysAreIsolated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = executor.execute("a", () -> awaitQuietly(release));
+        CompletableFuture<Void> queuedBehind = executor.execute("a", () -> {});
+
+        assertThat(executor.submit("b", () -> "other").get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        assertThat(queuedBehind).isNotDone();
+
+        release.countDown();
+        CompletableFuture.allOf(blocked, queuedBehind).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("a failing task fails its own future only; the key keeps running")
+    void failureDoesNotStopKey() throws Exception {
+        CompletableFuture<String> failed = executor.submit("game", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = executor.submit("game", () -> "next");
+
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("a rejected task fails its future, and a key without pending work holds no state")
+    void rejectionAndCleanup() throws Exception {
+        KeyedSerialExecutor<String> rejecting = new KeyedSerialExecutor<>(task -> {
+            throw new RejectedExecutionException("full");
+        });
+        assertThatThrownBy(() -> rejecting.submit("game", () -> "x").join())
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(rejecting.activeKeys()).isZero();
+
+        executor.submit("game", () -> "done").get(5, TimeUnit.SECONDS);
+        // the mailbox is removed right after the result is completed
+        await().until(() -> executor.activeKeys() == 0);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package at.fhtw.society.backend.game.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventBufferTest {
+
+    private static final UUID GAME = UUID.randomUUID();
+
+    private GameEventBuffer buffer;
+    private final List<Object> sent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        buffer = new GameEventBuffer(3, 60);
+    }
+
+    @Test
+    @DisplayName("events get consecutive sequence numbers and are sent with them")
+    void assignsSequence() {
+        publish(5);
+
+        assertThat(sent).containsExactly("event-1", "event-2", "event-3", "event-4", "event-5");
+    }
+
+    @Test
+    @DisplayName("an unknown room replays nothing for seq 0 and asks for a resync otherwise")
+    void emptyBuffer() {
+        assertThat(buffer.eventsAfter(GAME, 0)).hasValueSatisfying(events -> assertThat(events).isEmpty());
+        assertThat(buffer.eventsAfter(GAME, 4)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("the events after lastSeq are replayed in order")
+    void replaysMissedEvents() {
+        publish(3);
+
+        assertThat(seqs(buffer.eventsAfter(GAME, 1).orElseThrow())).containsExactly(2L, 3L);
+        assertThat(buffer.eventsAfter(GAME, 3)).hasValueSatisfying(events -> assertThat(events).isEmpty());
+    }
+
+    @Test
+    @DisplayName("a seq older than the buffer cannot be replayed completely")
+    void seqOlderThanBuffer() {
+        publish(5);
+
+        // events 3..5 are buffered: lastSeq 2 is still complete, lastSeq 1 misses event 2
+        assertThat(seqs(buffer.eventsAfter(GAME, 2).orElseThrow())).containsExactly(3L, 4L, 5L);
+        assertThat(buffer.eventsAfter(GAME, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a seq ahead of the buffer (e.g. from before a restart) asks for a resync")
+    void seqAheadOfBuffer() {
+        publish(2);
+
+        assertThat(buffer.eventsAfter(GAME, 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("idle rooms are dropped")
+    void dropsIdleRooms() {
+        GameEventBuffer shortLived = new GameEventBuffer(3, 0);
+        shortLived.publish(GAME, "event", seq -> seq, (event, payload) -> {});
+
+        shortLived.dropIdleRooms();
+
+        assertThat(shortLived.eventsAfter(GAME, 1)).isEmpty();
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.publish(GAME, "event", seq -> "event-" + seq, (event, payload) -> sent.add(payload));
+        }
+    }
+
+    private static List<Long> seqs(List<GameEventBuffer.BufferedEvent> events) {
+        return events.stream().map(GameEventBuffer.BufferedEvent::seq).toList();
+    }
+}
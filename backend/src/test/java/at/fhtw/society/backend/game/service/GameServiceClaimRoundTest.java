@@ -0,0 +1,98 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.game.dto.RoundState;
+import at.fhtw.society.backend.game.repo.RoundRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceClaimRoundTest {
+
+    private static final UUID ROUND = UUID.randomUUID();
+
+    @Mock
+    private RoundRepository roundRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private GameService gameService;
+
+    // stands in for the round row; transitionState is a conditional UPDATE, i.e. a compare-and-set
+    private final AtomicReference<RoundState> state = new AtomicReference<>(RoundState.OPEN);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(roundRepository.transitionState(eq(ROUND), any(), any())).thenAnswer(invocation ->
+                state.compareAndSet(invocation.getArgument(1), invocation.getArgument(2)) ? 1 : 0);
+    }
+
+    @Test
+    @DisplayName("of many concurrent final votes exactly one claims the round")
+    void singleWinner() {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<Boolean>> claims = IntStream.range(0, 16)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(start);
+                        return gameService.claimRound(ROUND);
+                    }, pool))
+                    .toList();
+            start.countDown();
+
+            assertThat(claims.stream().map(CompletableFuture::join).filter(Boolean::booleanValue)).hasSize(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(state).hasValue(RoundState.COMPLETING);
+    }
+
+    @Test
+    @DisplayName("a released round can be claimed again")
+    void releaseReopens() {
+        assertThat(gameService.claimRound(ROUND)).isTrue();
+        assertThat(gameService.claimRound(ROUND)).isFalse();
+
+        gameService.releaseRound(ROUND);
+
+        assertThat(state).hasValue(RoundState.OPEN);
+        assertThat(gameService.claimRound(ROUND)).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
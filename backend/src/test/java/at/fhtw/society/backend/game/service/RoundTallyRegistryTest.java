@@ -0,0 +1,114 @@
+package at.fhtw.society.backend.game.service;
+
+import at.fhtw.society.backend.game.repo.VoteRow;
+import at.fhtw.society.backend.game.repo.VotingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoundTallyRegistryTest {
+
+    private static final UUID ROUND = UUID.randomUUID();
+
+    private VotingRepository votingRepository;
+    private RoundTallyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        votingRepository = mock(VotingRepository.class);
+        registry = new RoundTallyRegistry(votingRepository);
+    }
+
+    @Test
+    @DisplayName("a player's vote is counted once")
+    void countsOncePerPlayer() {
+        UUID player = UUID.randomUUID();
+        RoundTallyRegistry.RoundTally tally = registry.tallyFor(ROUND);
+
+        assertThat(tally.record(player, 1)).isTrue();
+        assertThat(tally.record(player, 2)).isFalse();
+        assertThat(tally.record(UUID.randomUUID(), 2)).isTrue();
+
+        assertThat(tally.hasVoted(player)).isTrue();
+        assertThat(tally.totalVotes()).isEqualTo(2);
+        assertThat(tally.counts()).isEqualTo(Map.of(1, 1L, 2, 1L));
+    }
+
+    @Test
+    @DisplayName("concurrent votes of different players are all counted")
+    void concurrentVotes() {
+        RoundTallyRegistry.RoundTally tally = registry.tallyFor(ROUND);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Boolean>> votes = IntStream.range(0, 200)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(start);
+                        return tally.record(UUID.randomUUID(), i % 3);
+                    }, pool))
+                    .toList();
+            start.countDown();
+            votes.forEach(CompletableFuture::join);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(tally.totalVotes()).isEqualTo(200);
+        assertThat(tally.counts().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("a tally that is not in memory is rebuilt from the DB once, and evict drops it")
+    void rebuildsFromDb() {
+        UUID voter = UUID.randomUUID();
+        when(votingRepository.findVoteRowsByRoundId(ROUND)).thenReturn(List.of(row(voter, 2), row(UUID.randomUUID(), 2)));
+
+        RoundTallyRegistry.RoundTally tally = registry.tallyFor(ROUND);
+        assertThat(tally.counts()).isEqualTo(Map.of(2, 2L));
+        // a vote already in the DB is not counted again
+        assertThat(tally.record(voter, 2)).isFalse();
+        assertThat(registry.tallyFor(ROUND)).isSameAs(tally);
+        verify(votingRepository, times(1)).findVoteRowsByRoundId(ROUND);
+
+        registry.evict(ROUND);
+        assertThat(registry.tallyFor(ROUND)).isNotSameAs(tally);
+        verify(votingRepository, times(2)).findVoteRowsByRoundId(ROUND);
+    }
+
+    private static VoteRow row(UUID playerId, int choiceId) {
+        return new VoteRow() {
+            @Override
+            public UUID getPlayerId() {
+                return playerId;
+            }
+
+            @Override
+            public Integer getChoiceId() {
+                return choiceId;
+            }
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.common.socket.RoomBroadcaster;
+import at.fhtw.society.backend.lobby.dto.ChatMessageDto;
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatBroadcasterTest {
+
+    private static final UUID LOBBY = UUID.randomUUID();
+
+    private RoomBroadcaster roomBroadcaster;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<Object[]> broadcasts = new CopyOnWriteArrayList<>();
+    private ChatBroadcaster chatBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        roomBroadcaster = mock(RoomBroadcaster.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(roomBroadcaster.localClients(anyString())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            broadcasts.add(new Object[]{invocation.getArgument(1), invocation.getArgument(3)});
+            return null;
+        }).when(roomBroadcaster).sendExcept(anyString(), anyString(), any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (chatBroadcaster != null) chatBroadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("messages of one batch window go out as one receiveMessages event")
+    void batchesMessages() {
+        chatBroadcaster = create(50, 10, "drop");
+
+        chatBroadcaster.publish(LOBBY, message("a"));
+        chatBroadcaster.publish(LOBBY, message("b"));
+        chatBroadcaster.publish(LOBBY, message("c"));
+
+        await().until(() -> !broadcasts.isEmpty());
+        assertThat(broadcasts).hasSize(1);
+        assertThat(broadcasts.get(0)[0]).isEqualTo(ChatBroadcaster.EVENT_RECEIVE_MESSAGES);
+        assertThat(texts(broadcasts.get(0)[1])).containsExactly("a", "b", "c");
+        assertThat(meterRegistry.get("lobby.chat.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("a single message is still sent as receiveMessage")
+    void singleMessage() {
+        chatBroadcaster = create(10, 10, "drop");
+
+        chatBroadcaster.publish(LOBBY, message("only"));
+
+        await().until(() -> !broadcasts.isEmpty());
+        assertThat(broadcasts.get(0)[0]).isEqualTo(ChatBroadcaster.EVENT_RECEIVE_MESSAGE);
+        assertThat(((ChatMessageDto) broadcasts.get(0)[1]).getMessage()).isEqualTo("only");
+    }
+
+    @Test
+    @DisplayName("a backed up client gets the newest messages from its outbox once it catches up, the oldest are dropped")
+    void outboxDropsOldest() {
+        chatBroadcaster = create(10, 2, "drop");
+        SocketIOClient slow = client();
+        List<Object> received = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> received.add(invocation.getArgument(1))).when(slow).sendEvent(anyString(), any());
+        when(roomBroadcaster.localClients(LOBBY.toString())).thenReturn(List.of(slow));
+        when(roomBroadcaster.isBackedUp(slow)).thenReturn(true);
+
+        for (String text : List.of("a", "b", "c")) {
+            chatBroadcaster.publish(LOBBY, message(text));
+            int sent = broadcasts.size();
+            await().until(() -> broadcasts.size() > sent);
+        }
+        assertThat(meterRegistry.get("lobby.chat.outbox.overflow").tag("action", "dropped").counter().count()).isEqualTo(1);
+        assertThat(received).isEmpty();
+
+        when(roomBroadcaster.isBackedUp(slow)).thenReturn(false);
+        verify(slow, timeout(1000)).sendEvent(eq(ChatBroadcaster.EVENT_RECEIVE_MESSAGES), any());
+        assertThat(texts(received.get(0))).containsExactly("b", "c");
+    }
+
+    @Test
+    @DisplayName("with the disconnect policy an overflowing client is disconnected")
+    void outboxDisconnects() {
+        chatBroadcaster = create(10, 1, "disconnect");
+        SocketIOClient slow = client();
+        when(roomBroadcaster.localClients(LOBBY.toString())).thenReturn(List.of(slow));
+        when(roomBroadcaster.isBackedUp(slow)).thenReturn(true);
+
+        chatBroadcaster.publish(LOBBY, message("a"));
+        chatBroadcaster.publish(LOBBY, message("b"));
+
+        verify(slow, timeout(1000)).disconnect();
+        assertThat(meterRegistry.get("lobby.chat.outbox.overflow").tag("action", "disconnected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the token bucket allows a burst, then limits the player; reconnecting does not reset it")
+    void rateLimit() {
+        chatBroadcaster = create(10, 10, "drop", 0.001, 2);
+        UUID player = UUID.randomUUID();
+
+        assertThat(chatBroadcaster.tryAcquire(player)).isTrue();
+        assertThat(chatBroadcaster.tryAcquire(player)).isTrue();
+        assertThat(chatBroadcaster.tryAcquire(player)).isFalse();
+
+        chatBroadcaster.forget(UUID.randomUUID());
+        assertThat(chatBroadcaster.tryAcquire(player)).isFalse();
+        assertThat(chatBroadcaster.tryAcquire(UUID.randomUUID())).isTrue();
+        assertThat(meterRegistry.get("lobby.chat.rate.limited").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("only buckets idle long enough to be full again are dropped")
+    void dropsIdleBuckets() throws InterruptedException {
+        chatBroadcaster = create(10, 10, "drop", 1000, 2);
+        chatBroadcaster.tryAcquire(UUID.randomUUID());
+        Thread.sleep(10);
+
+        chatBroadcaster.dropIdleBuckets();
+        assertThat(chatBroadcaster.trackedPlayers()).isZero();
+
+        ChatBroadcaster strict = create(10, 10, "drop", 0.001, 2);
+        try {
+            strict.tryAcquire(UUID.randomUUID());
+            strict.dropIdleBuckets();
+            assertThat(strict.trackedPlayers()).isEqualTo(1);
+        } finally {
+            strict.shutdown();
+        }
+    }
+
+    private ChatBroadcaster create(long batchWindowMs, int outboxCapacity, String overflowPolicy) {
+        return create(batchWindowMs, outboxCapacity, overflowPolicy, 100, 100);
+    }
+
+    private ChatBroadcaster create(long batchWindowMs, int outboxCapacity, String overflowPolicy, double perSecond, int burst) {
+        return new ChatBroadcaster(roomBroadcaster, meterRegistry, batchWindowMs, outboxCapacity, overflowPolicy, 20, perSecond, burst);
+    }
+
+    private static SocketIOClient client() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.getSessionId()).thenReturn(UUID.randomUUID());
+        when(client.isChannelOpen()).thenReturn(true);
+        return client;
+    }
+
+    private static ChatMessageDto message(String text) {
+        return ChatMessageDto.builder().playerId(UUID.randomUUID()).message(text).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> texts(Object payload) {
+        return ((List<ChatMessageDto>) payload).stream().map(ChatMessageDto::getMessage).toList();
+    }
+}
@@ -0,0 +1,91 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.common.socket.RoomBroadcaster;
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.event.LobbyCreatedEvent;
+import at.fhtw.society.backend.lobby.mapper.LobbyListItemMapper;
+import at.fhtw.society.backend.lobby.repo.LobbyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LobbyListCacheTest {
+
+    private LobbyRepository lobbyRepository;
+    private LobbyListItemMapper lobbyListItemMapper;
+    private LobbyListCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lobbyRepository = mock(LobbyRepository.class);
+        lobbyListItemMapper = mock(LobbyListItemMapper.class);
+        cache = new LobbyListCache(lobbyRepository, lobbyListItemMapper, mock(RoomBroadcaster.class));
+    }
+
+    @Test
+    @DisplayName("resync replaces the list with the DB state")
+    void resyncLoadsDbState() {
+        LobbyListItemDto lobby = lobby("Alpha");
+        when(lobbyListItemMapper.toDtos(any())).thenReturn(List.of(lobby));
+
+        cache.resync();
+
+        assertThat(cache.getSnapshot().getLobbies()).containsExactly(lobby);
+    }
+
+    @Test
+    @DisplayName("a change applied while the resync query runs is not reverted by the stale load")
+    void keepsChangesMadeDuringTheLoad() {
+        LobbyListItemDto existing = lobby("Alpha");
+        LobbyListItemDto createdMeanwhile = lobby("Beta");
+        AtomicInteger loads = new AtomicInteger();
+        when(lobbyListItemMapper.toDtos(any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                // committed while the first query was running, but not part of its result
+                cache.onLobbyCreated(new LobbyCreatedEvent(createdMeanwhile));
+                return List.of(existing);
+            }
+            return List.of(existing, createdMeanwhile);
+        });
+
+        cache.resync();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getSnapshot().getLobbies()).containsExactly(existing, createdMeanwhile);
+    }
+
+    @Test
+    @DisplayName("a list that keeps changing during every load is left alone until the next resync")
+    void givesUpWhileChanging() {
+        LobbyListItemDto created = lobby("Alpha");
+        when(lobbyListItemMapper.toDtos(any())).thenAnswer(invocation -> {
+            cache.onLobbyCreated(new LobbyCreatedEvent(lobby("Other " + UUID.randomUUID())));
+            return List.of(created);
+        });
+        cache.onLobbyCreated(new LobbyCreatedEvent(created));
+
+        cache.resync();
+
+        assertThat(cache.getSnapshot().getLobbies()).hasSize(4).contains(created);
+    }
+
+    private static LobbyListItemDto lobby(String name) {
+        return LobbyListItemDto.builder()
+                .lobbyId(UUID.randomUUID())
+                .name(name)
+                .playersCount(1)
+                .maxPlayers(4)
+                .status(LobbyStatus.OPEN)
+                .build();
+    }
+}
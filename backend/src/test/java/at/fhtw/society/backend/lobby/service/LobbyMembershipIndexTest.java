@@ -0,0 +1,126 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.lobby.event.LobbyMembershipEvent;
+import at.fhtw.society.backend.lobby.repo.LobbyMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LobbyMembershipIndexTest {
+
+    private static final UUID LOBBY = UUID.randomUUID();
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    private LobbyMemberRepository lobbyMemberRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private LobbyMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lobbyMemberRepository = mock(LobbyMemberRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(lobbyMemberRepository.findPlayerIdsByLobbyId(any())).thenReturn(List.of(PLAYER));
+        index = new LobbyMembershipIndex(lobbyMemberRepository, meterRegistry, 60, 2);
+    }
+
+    @Test
+    @DisplayName("concurrent checks of an unknown lobby load it from the DB once")
+    void loadsOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Boolean>> checks = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(start);
+                        return index.isMember(LOBBY, PLAYER);
+                    }, pool))
+                    .toList();
+            start.countDown();
+
+            for (CompletableFuture<Boolean> check : checks) {
+                assertThat(check.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(lobbyMemberRepository, times(1)).findPlayerIdsByLobbyId(LOBBY);
+        assertThat(meterRegistry.get("lobby.membership.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("lobby.membership.cache").tag("result", "hit").counter().count()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("membership events update indexed lobbies without a reload")
+    void appliesEvents() {
+        UUID joined = UUID.randomUUID();
+        assertThat(index.isMember(LOBBY, joined)).isFalse();
+
+        index.onMembershipChanged(new LobbyMembershipEvent(LOBBY, joined, LobbyMembershipEvent.Kind.JOINED));
+        index.onMembershipChanged(new LobbyMembershipEvent(LOBBY, PLAYER, LobbyMembershipEvent.Kind.LEFT));
+
+        assertThat(index.isMember(LOBBY, joined)).isTrue();
+        assertThat(index.isMember(LOBBY, PLAYER)).isFalse();
+        verify(lobbyMemberRepository, times(1)).findPlayerIdsByLobbyId(LOBBY);
+    }
+
+    @Test
+    @DisplayName("a slow load blocks neither other lobbies nor events, which are applied once it is done")
+    void loadRunsOutsideTheLock() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(lobbyMemberRepository.findPlayerIdsByLobbyId(LOBBY)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(PLAYER);
+        });
+
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> index.isMember(LOBBY, PLAYER));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(CompletableFuture.supplyAsync(() -> index.isMember(UUID.randomUUID(), PLAYER)).get(1, TimeUnit.SECONDS)).isTrue();
+        index.onMembershipChanged(new LobbyMembershipEvent(LOBBY, PLAYER, LobbyMembershipEvent.Kind.LEFT));
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertThat(index.isMember(LOBBY, PLAYER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("the index holds at most max-lobbies lobbies")
+    void bounded() {
+        for (int i = 0; i < 5; i++) {
+            index.isMember(UUID.randomUUID(), PLAYER);
+        }
+        index.isMember(LOBBY, PLAYER);
+
+        // the most recent lobby is still indexed
+        index.isMember(LOBBY, PLAYER);
+        verify(lobbyMemberRepository, times(1)).findPlayerIdsByLobbyId(LOBBY);
+        assertThat(index.size()).isLessThanOrEqualTo(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
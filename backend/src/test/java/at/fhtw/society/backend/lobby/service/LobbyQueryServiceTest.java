@@ -0,0 +1,85 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.dto.LobbyPageDto;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.mapper.LobbyListItemMapper;
+import at.fhtw.society.backend.lobby.repo.LobbyListFilter;
+import at.fhtw.society.backend.lobby.repo.LobbyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LobbyQueryServiceTest {
+
+    private static final LobbyListFilter FILTER = new LobbyListFilter(LobbyStatus.OPEN, null, null, null, null);
+
+    private LobbyRepository lobbyRepository;
+    private LobbyQueryService lobbyQueryService;
+
+    @BeforeEach
+    void setUp() {
+        lobbyRepository = mock(LobbyRepository.class);
+        lobbyQueryService = new LobbyQueryService(lobbyRepository, mock(LobbyListItemMapper.class), mock(LobbyListCache.class));
+    }
+
+    @Test
+    @DisplayName("the cursor round-trips name and id, including names with line breaks")
+    void cursorRoundTrip() {
+        UUID id = UUID.randomUUID();
+        String name = "Lobby\nwith a line break";
+
+        LobbyQueryService.CursorPosition position = LobbyQueryService.decodeCursor(LobbyQueryService.encodeCursor(name, id));
+
+        assertThat(position.name()).isEqualTo(name);
+        assertThat(position.id()).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("the next page continues after the last lobby of the previous page")
+    void nextPage() {
+        LobbyListItemDto first = lobby("Alpha");
+        LobbyListItemDto second = lobby("Beta");
+        when(lobbyRepository.findLobbyPage(eq(FILTER), isNull(), isNull(), eq(2))).thenReturn(List.of(first, second));
+
+        LobbyPageDto page = lobbyQueryService.getLobbyPage(FILTER, null, 1);
+        assertThat(page.getLobbies()).containsExactly(first);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        when(lobbyRepository.findLobbyPage(any(), any(), any(), anyInt())).thenReturn(List.of(second));
+        LobbyPageDto next = lobbyQueryService.getLobbyPage(FILTER, page.getNextCursor(), 1);
+
+        verify(lobbyRepository).findLobbyPage(FILTER, "Alpha", first.getLobbyId(), 2);
+        assertThat(next.getLobbies()).containsExactly(second);
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("a malformed cursor is rejected")
+    void malformedCursor() {
+        String withoutId = LobbyQueryService.encodeCursor("Alpha", UUID.randomUUID()).substring(0, 4);
+
+        for (String cursor : List.of("not base64!", withoutId, "QWxwaGEKbm90LWEtdXVpZA")) {
+            assertThatThrownBy(() -> lobbyQueryService.getLobbyPage(FILTER, cursor, 20))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+
+    private static LobbyListItemDto lobby(String name) {
+        return LobbyListItemDto.builder().lobbyId(UUID.randomUUID()).name(name).status(LobbyStatus.OPEN).build();
+    }
+}
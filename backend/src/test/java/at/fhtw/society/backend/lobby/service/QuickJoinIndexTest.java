@@ -0,0 +1,129 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.lobby.dto.LobbyListItemDto;
+import at.fhtw.society.backend.lobby.dto.LobbyListSnapshotDto;
+import at.fhtw.society.backend.lobby.entity.LobbyStatus;
+import at.fhtw.society.backend.lobby.event.LobbyCreatedEvent;
+import at.fhtw.society.backend.lobby.event.LobbyMembershipEvent;
+import at.fhtw.society.backend.lobby.event.LobbyStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuickJoinIndexTest {
+
+    private static final UUID THEME_A = UUID.randomUUID();
+    private static final UUID THEME_B = UUID.randomUUID();
+
+    private LobbyListCache lobbyListCache;
+    private QuickJoinIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lobbyListCache = mock(LobbyListCache.class);
+        index = new QuickJoinIndex(lobbyListCache);
+    }
+
+    @Test
+    @DisplayName("reserve fills the lobby with the fewest free seats first")
+    void reservesFullestLobby() {
+        UUID almostFull = create(THEME_A, 3, 4);
+        create(THEME_A, 1, 4);
+
+        assertThat(index.reserve(THEME_A)).contains(almostFull);
+    }
+
+    @Test
+    @DisplayName("reserve only considers lobbies of the requested theme, or all lobbies without a theme")
+    void filtersByTheme() {
+        UUID lobbyA = create(THEME_A, 1, 4);
+        UUID lobbyB = create(THEME_B, 3, 4);
+
+        assertThat(index.reserve(THEME_A)).contains(lobbyA);
+        assertThat(index.reserve(null)).contains(lobbyB);
+        assertThat(index.reserve(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("reserved seats count as taken until they are released")
+    void reserveAndRelease() {
+        UUID lobby = create(THEME_A, 2, 4);
+
+        assertThat(index.reserve(THEME_A)).contains(lobby);
+        assertThat(index.reserve(THEME_A)).contains(lobby);
+        assertThat(index.reserve(THEME_A)).isEmpty();
+
+        index.release(lobby);
+        assertThat(index.reserve(THEME_A)).contains(lobby);
+        assertThat(index.reserve(THEME_A)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a reservation that turned into a member keeps the seat taken")
+    void reservationBecomesMember() {
+        UUID lobby = create(THEME_A, 3, 4);
+
+        assertThat(index.reserve(THEME_A)).contains(lobby);
+        index.onMembershipChanged(LobbyMembershipEvent.joined(lobby, UUID.randomUUID()));
+        index.release(lobby);
+        assertThat(index.reserve(THEME_A)).isEmpty();
+
+        index.onMembershipChanged(LobbyMembershipEvent.left(lobby, UUID.randomUUID()));
+        assertThat(index.reserve(THEME_A)).contains(lobby);
+    }
+
+    @Test
+    @DisplayName("lobbies that are no longer open, deleted or protected are not handed out")
+    void skipsUnjoinableLobbies() {
+        UUID started = create(THEME_A, 1, 4);
+        UUID deleted = create(THEME_A, 1, 4);
+        index.onLobbyCreated(new LobbyCreatedEvent(lobby(UUID.randomUUID(), THEME_A, 1, 4).toBuilder().hasPassword(true).build()));
+
+        index.onStatusChanged(new LobbyStatusChangedEvent(started, LobbyStatus.IN_GAME));
+        index.onMembershipChanged(LobbyMembershipEvent.lobbyDeleted(deleted));
+
+        assertThat(index.reserve(THEME_A)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("resync corrects member counts, keeps reservations and drops lobbies that are gone")
+    void resyncFromSnapshot() {
+        UUID kept = create(THEME_A, 1, 4);
+        create(THEME_B, 1, 4);
+        assertThat(index.reserve(THEME_A)).contains(kept);
+
+        when(lobbyListCache.getSnapshot()).thenReturn(new LobbyListSnapshotDto(2, List.of(lobby(kept, THEME_A, 2, 4))));
+        index.resync();
+
+        // 2 members + 1 reservation: one free seat left
+        assertThat(index.reserve(THEME_A)).contains(kept);
+        assertThat(index.reserve(THEME_A)).isEmpty();
+        assertThat(index.reserve(THEME_B)).isEmpty();
+    }
+
+    private UUID create(UUID themeId, int players, int maxPlayers) {
+        UUID lobbyId = UUID.randomUUID();
+        index.onLobbyCreated(new LobbyCreatedEvent(lobby(lobbyId, themeId, players, maxPlayers)));
+        return lobbyId;
+    }
+
+    private static LobbyListItemDto lobby(UUID lobbyId, UUID themeId, int players, int maxPlayers) {
+        return LobbyListItemDto.builder()
+                .lobbyId(lobbyId)
+                .name("lobby " + lobbyId)
+                .themeId(themeId)
+                .themeName("theme")
+                .playersCount(players)
+                .maxPlayers(maxPlayers)
+                .hasPassword(false)
+                .status(LobbyStatus.OPEN)
+                .build();
+    }
+}
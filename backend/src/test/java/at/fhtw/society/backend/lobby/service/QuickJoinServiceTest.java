@@ -0,0 +1,101 @@
+package at.fhtw.society.backend.lobby.service;
+
+import at.fhtw.society.backend.game.repo.ThemeRepository;
+import at.fhtw.society.backend.lobby.dto.LobbyViewDto;
+import at.fhtw.society.backend.lobby.exception.LobbyFullException;
+import at.fhtw.society.backend.lobby.exception.QuickJoinUnavailableException;
+import at.fhtw.society.backend.security.jwt.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuickJoinServiceTest {
+
+    private static final UUID THEME = UUID.randomUUID();
+
+    private QuickJoinIndex quickJoinIndex;
+    private LobbyCommandService lobbyCommandService;
+    private ThreadPoolTaskExecutor executor;
+    private QuickJoinService quickJoinService;
+
+    @BeforeEach
+    void setUp() {
+        quickJoinIndex = mock(QuickJoinIndex.class);
+        lobbyCommandService = mock(LobbyCommandService.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        quickJoinService = new QuickJoinService(quickJoinIndex, lobbyCommandService, mock(ThemeRepository.class),
+                executor, new SimpleMeterRegistry(), 6, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("a player waiting for another player's lobby creation holds no thread and then joins that lobby")
+    void waitsForCreationWithoutBlocking() throws Exception {
+        UUID lobbyId = UUID.randomUUID();
+        LobbyViewDto createdView = LobbyViewDto.builder().lobbyId(lobbyId).build();
+        LobbyViewDto joinedView = LobbyViewDto.builder().lobbyId(lobbyId).build();
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch finishCreation = new CountDownLatch(1);
+
+        when(quickJoinIndex.reserve(THEME)).thenReturn(Optional.empty());
+        when(lobbyCommandService.createLobby(any(), any())).thenAnswer(invocation -> {
+            creating.countDown();
+            finishCreation.await(5, TimeUnit.SECONDS);
+            return createdView;
+        });
+        when(lobbyCommandService.joinLobbyWithoutPassword(eq(lobbyId), any())).thenReturn(joinedView);
+
+        CompletableFuture<LobbyViewDto> creator = CompletableFuture.supplyAsync(() -> quickJoinService.quickJoin(THEME, player()).join());
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // returns right away instead of waiting for the creation
+        CompletableFuture<LobbyViewDto> waiter = quickJoinService.quickJoin(THEME, player());
+        assertThat(waiter).isNotDone();
+
+        when(quickJoinIndex.reserve(THEME)).thenReturn(Optional.of(lobbyId));
+        finishCreation.countDown();
+
+        assertThat(creator.get(5, TimeUnit.SECONDS)).isSameAs(createdView);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(joinedView);
+        verify(lobbyCommandService, times(1)).createLobby(any(), any());
+    }
+
+    @Test
+    @DisplayName("gives up after a few failed joins")
+    void givesUp() {
+        UUID lobbyId = UUID.randomUUID();
+        when(quickJoinIndex.reserve(THEME)).thenReturn(Optional.of(lobbyId));
+        when(lobbyCommandService.joinLobbyWithoutPassword(eq(lobbyId), any())).thenThrow(new LobbyFullException(lobbyId));
+
+        assertThatThrownBy(() -> quickJoinService.quickJoin(THEME, player()).join())
+                .hasCauseInstanceOf(QuickJoinUnavailableException.class);
+        verify(quickJoinIndex, times(5)).release(lobbyId);
+    }
+
+    private static JwtService.PlayerIdentity player() {
+        return new JwtService.PlayerIdentity(UUID.randomUUID(), "player", null, "PLAYER");
+    }
+}
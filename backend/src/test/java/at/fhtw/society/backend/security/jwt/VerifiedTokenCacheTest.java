@@ -0,0 +1,85 @@
+package at.fhtw.society.backend.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(meterRegistry, 100, 15);
+    }
+
+    @Test
+    @DisplayName("a verified token is served from the cache until it expires")
+    void cachesVerifiedToken() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        cache.put(jwt);
+
+        assertThat(cache.get("token")).isSameAs(jwt);
+        assertThat(cache.get("other")).isNull();
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a token past its exp is not served, even while the cache entry is still alive")
+    void honoursTokenExpiry() {
+        cache.put(jwt("expired", Instant.now().minusSeconds(1)));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("entries are dropped after the cache TTL")
+    void honoursCacheTtl() {
+        VerifiedTokenCache noTtl = new VerifiedTokenCache(new SimpleMeterRegistry(), 100, 0);
+        noTtl.put(jwt("token", Instant.now().plusSeconds(60)));
+
+        assertThat(noTtl.get("token")).isNull();
+    }
+
+    @Test
+    @DisplayName("the identity of a cached token is read once")
+    void cachesIdentity() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        cache.put(jwt);
+        AtomicInteger reads = new AtomicInteger();
+        JwtService.PlayerIdentity identity = new JwtService.PlayerIdentity(UUID.randomUUID(), "player", null, "PLAYER");
+
+        cache.identity(jwt, token -> {
+            reads.incrementAndGet();
+            return identity;
+        });
+        JwtService.PlayerIdentity again = cache.identity(jwt, token -> {
+            reads.incrementAndGet();
+            return identity;
+        });
+
+        assertThat(again).isSameAs(identity);
+        assertThat(reads).hasValue(1);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject(UUID.randomUUID().toString())
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -17,6 +17,8 @@ export type VoteRequest = {
 };
 
 export type VoteResult = {
+    // only set on voteCompleted events
+    seq?: number | null;
     roundNumber: number;
     accepted: boolean;
     roundCompleted: boolean;
@@ -25,6 +27,14 @@ export type VoteResult = {
     outcomeSummary: string | null;
 };
 
+// Partial AI reply pushed to the game room while the model is generating ("aiStream" event)
+export type AiStreamChunk = {
+    step: "dilemma" | "outcome";
+    roundNumber: number;
+    // newly generated text, a fragment of the reply's JSON
+    delta: string;
+};
+
 export type ApiResponse<T> = {
     status: string;
     data: T;
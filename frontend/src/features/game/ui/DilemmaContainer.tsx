@@ -5,10 +5,17 @@ import { DilemmaChoices } from "@/shared/ui/DilemmaChoices";
 import { OutcomeSummary } from "@/shared/ui/OutcomeSummary";
 import { FinalOutcome } from "@/features/game/ui/FinalOutcome";
 import { useDilemma } from "@/features/game/hooks/useDilemma";
-import type { VoteResult } from "@/features/game/api/types";
+import type { AiStreamChunk, VoteResult } from "@/features/game/api/types";
 import { useLobbyChat } from "@/features/lobby/hooks/useLobbyChat";
 import { useSessionStore } from "@/features/session/sessionStore";
 
+/** Readable part of a partial AI reply: the outcome summary or the dilemma context generated so far. */
+function streamedText(raw: string): string {
+    const match = raw.match(/"(?:summary|context)"\s*:\s*"((?:[^"\\]|\\.)*)/);
+    if (!match) return "";
+    return match[1].replace(/\\n/g, "\n").replace(/\\"/g, '"').replace(/\\$/, "");
+}
+
 interface DilemmaContainerProps {
     gameId: string;
     playerId: string;
@@ -22,6 +29,8 @@ interface DilemmaContainerProps {
  */
 export function DilemmaContainer({ gameId, playerId, onVoteComplete, onGameOver }: DilemmaContainerProps) {
     const [outcomeSummary, setOutcomeSummary] = useState<{ summary: string; roundNumber: number } | null>(null);
+    // AI reply that is currently being generated for this game (from aiStream events)
+    const [streaming, setStreaming] = useState<{ step: AiStreamChunk["step"]; roundNumber: number; raw: string } | null>(null);
     const session = useSessionStore((s) => s.session);
 
     // Initialize the dilemma hook first so updateDilemma is available
@@ -49,7 +58,7 @@ export function DilemmaContainer({ gameId, playerId, onVoteComplete, onGameOver
     });
 
     // Initialize WebSocket connection and join game room
-    const { joinGameRoom, onVoteCompleted, isConnected } = useLobbyChat(session?.token ?? null, null);
+    const { joinGameRoom, onVoteCompleted, onGameResyncRequired, onAiStream, isConnected } = useLobbyChat(session?.token ?? null, null);
 
     console.log("WebSocket connection status:", isConnected);
 
@@ -63,12 +72,32 @@ export function DilemmaContainer({ gameId, playerId, onVoteComplete, onGameOver
         }
     }, [gameId, joinGameRoom, isConnected]);
 
+    // Show the outcome and the next dilemma while they are generated instead of a silent wait
+    useEffect(() => {
+        onAiStream((chunk) => {
+            setStreaming((prev) =>
+                prev && prev.step === chunk.step && prev.roundNumber === chunk.roundNumber
+                    ? { ...prev, raw: prev.raw + chunk.delta }
+                    : { step: chunk.step, roundNumber: chunk.roundNumber, raw: chunk.delta });
+        });
+    }, [onAiStream]);
+
+    // Missed events could not be replayed after a reconnect: load the current state once
+    useEffect(() => {
+        onGameResyncRequired(() => {
+            console.log("Game resync required - reloading the current dilemma");
+            void refetch();
+        });
+    }, [onGameResyncRequired, refetch]);
+
     // Listen for vote completed events from WebSocket
     useEffect(() => {
         console.log("Setting up vote completed listener");
         onVoteCompleted((voteResult) => {
             console.log("Vote completed event received via WebSocket:", voteResult);
             const result = voteResult as VoteResult;
+            // the complete outcome and dilemma replace the streamed preview
+            setStreaming(null);
 
             // Check if game is over (round completed but no next dilemma)
             if (result.roundCompleted && !result.nextDilemma) {
@@ -167,13 +196,25 @@ export function DilemmaContainer({ gameId, playerId, onVoteComplete, onGameOver
         );
     }
 
+    const preview = streaming ? streamedText(streaming.raw) : "";
+
     return (
-        <DilemmaChoices
-            data={dilemma || undefined}
-            onSubmitChoice={submitChoice}
-            isLoading={isLoading}
-            isSubmitting={isSubmitting}
-            hasVoted={hasVoted}
-        />
+        <div className="flex flex-col gap-4">
+            <DilemmaChoices
+                data={dilemma || undefined}
+                onSubmitChoice={submitChoice}
+                isLoading={isLoading}
+                isSubmitting={isSubmitting}
+                hasVoted={hasVoted}
+            />
+            {streaming && (
+                <section className="nes-container with-title is-rounded is-dark">
+                    <p className="title">
+                        {streaming.step === "outcome" ? `Outcome of round ${streaming.roundNumber}` : `Round ${streaming.roundNumber}`}
+                    </p>
+                    <p className="text-sm whitespace-pre-wrap">{preview || "…"}</p>
+                </section>
+            )}
+        </div>
     );
 }
@@ -45,4 +45,18 @@ export type LobbyViewDto = {
     hasPassword: boolean;
     status: LobbyStatus;
     members: LobbyMemberViewDto[];
-}
\ No newline at end of file
+}
+// Pushed over Socket.IO to clients that subscribed to the lobby list
+export type LobbyListSnapshotDto = {
+    version: number;
+    lobbies: LobbyListItemDto[];
+};
+
+export type LobbyListDeltaDto = {
+    version: number;
+    type: "created" | "playersCount" | "status" | "deleted";
+    lobbyId: string;
+    lobby?: LobbyListItemDto;
+    playersCount?: number;
+    status?: LobbyStatus;
+};
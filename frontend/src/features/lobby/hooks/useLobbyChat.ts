@@ -3,8 +3,11 @@
 import { useEffect, useRef, useState, useCallback } from "react";
 import { io, Socket } from "socket.io-client";
 import type { ChatMessageDto, ChatMessageRequestDto } from "@/features/lobby/api/chatTypes";
+import type { AiStreamChunk } from "@/features/game/api/types";
 
 type VoteResult = {
+    // sequence number within the game room; replayed events are dropped by it
+    seq?: number | null;
     roundNumber: number;
     accepted: boolean;
     roundCompleted: boolean;
@@ -22,9 +25,11 @@ type UseLobbyChat = {
     onGameStarted: (callback: (gameId: string) => void) => void;
     joinGameRoom: (gameId: string) => void;
     onVoteCompleted: (callback: (voteResult: VoteResult) => void) => void;
+    onGameResyncRequired: (callback: () => void) => void;
+    onAiStream: (callback: (chunk: AiStreamChunk) => void) => void;
 };
 
-const SOCKET_URL = "http://localhost:9092";
+export const SOCKET_URL = "http://localhost:9092";
 
 export function useLobbyChat(token: string | null, lobbyId: string | null): UseLobbyChat {
     const [messages, setMessages] = useState<ChatMessageDto[]>([]);
@@ -34,6 +39,11 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
     const currentLobbyIdRef = useRef<string | null>(null);
     const gameStartedCallbackRef = useRef<((gameId: string) => void) | null>(null);
     const voteCompletedCallbackRef = useRef<((voteResult: VoteResult) => void) | null>(null);
+    const gameResyncCallbackRef = useRef<(() => void) | null>(null);
+    const aiStreamCallbackRef = useRef<((chunk: AiStreamChunk) => void) | null>(null);
+    // game room of this client and the last game event it has seen, to resume after a reconnect
+    const currentGameIdRef = useRef<string | null>(null);
+    const lastSeqRef = useRef(0);
 
     // Connect to Socket.IO server
     useEffect(() => {
@@ -67,6 +77,18 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
                     console.log("Join lobby response:", response);
                 });
             }
+
+            // Reconnected during a game: get only the missed events instead of reloading everything
+            const gameId = currentGameIdRef.current;
+            if (gameId) {
+                if (lastSeqRef.current > 0) {
+                    socket.emit("resumeGame", { gameId, lastSeq: lastSeqRef.current });
+                } else {
+                    // nothing to resume from, events may have been missed while disconnected
+                    socket.emit("joinGame", gameId);
+                    gameResyncCallbackRef.current?.();
+                }
+            }
         });
 
         socket.on("disconnect", () => {
@@ -85,6 +107,11 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
             setMessages((prev) => [...prev, message]);
         });
 
+        // Messages sent within a few milliseconds arrive as one batch
+        socket.on("receiveMessages", (batch: ChatMessageDto[]) => {
+            setMessages((prev) => [...prev, ...batch]);
+        });
+
         socket.on("error", (errorMessage: string) => {
             console.error("Chat error:", errorMessage);
             setError(errorMessage);
@@ -101,6 +128,11 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
         // Listen for vote completed event
         socket.on("voteCompleted", (voteResult: VoteResult) => {
             console.log("🔔 WebSocket: Vote completed event received at socket level:", voteResult);
+            if (typeof voteResult.seq === "number") {
+                // already seen (an event can arrive live and again in a replay)
+                if (voteResult.seq <= lastSeqRef.current) return;
+                lastSeqRef.current = voteResult.seq;
+            }
             if (voteCompletedCallbackRef.current) {
                 console.log("✅ Callback exists, invoking it");
                 voteCompletedCallbackRef.current(voteResult);
@@ -109,6 +141,18 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
             }
         });
 
+        // Partial dilemma/outcome text while the AI is still generating it
+        socket.on("aiStream", (chunk: AiStreamChunk) => {
+            aiStreamCallbackRef.current?.(chunk);
+        });
+
+        // The missed events are no longer buffered on the server: reload the game state once via REST
+        socket.on("gameResyncRequired", (gameId: string) => {
+            console.log("Game resync required:", gameId);
+            lastSeqRef.current = 0;
+            gameResyncCallbackRef.current?.();
+        });
+
         // Cleanup on unmount
         return () => {
             socket.disconnect();
@@ -184,6 +228,11 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
             return;
         }
 
+        if (currentGameIdRef.current !== gameId) {
+            currentGameIdRef.current = gameId;
+            lastSeqRef.current = 0;
+        }
+
         console.log("🎮 Joining game room:", gameId);
         socket.emit("joinGame", gameId, (response: string) => {
             console.log("✅ Join game room response:", response);
@@ -195,6 +244,14 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
         voteCompletedCallbackRef.current = callback;
     }, []);
 
+    const onGameResyncRequired = useCallback((callback: () => void) => {
+        gameResyncCallbackRef.current = callback;
+    }, []);
+
+    const onAiStream = useCallback((callback: (chunk: AiStreamChunk) => void) => {
+        aiStreamCallbackRef.current = callback;
+    }, []);
+
     return {
         messages,
         isConnected,
@@ -204,5 +261,7 @@ export function useLobbyChat(token: string | null, lobbyId: string | null): UseL
         onGameStarted,
         joinGameRoom,
         onVoteCompleted,
+        onGameResyncRequired,
+        onAiStream,
     };
 }
@@ -0,0 +1,94 @@
+"use client";
+
+import { useEffect, useState } from "react";
+import { io } from "socket.io-client";
+import type { LobbyListDeltaDto, LobbyListItemDto, LobbyListSnapshotDto } from "@/features/lobby/api/types";
+import { SOCKET_URL } from "@/features/lobby/hooks/useLobbyChat";
+
+type LobbyListFeed = {
+    // null until the first snapshot has arrived
+    lobbies: LobbyListItemDto[] | null;
+    isConnected: boolean;
+};
+
+function byName(a: LobbyListItemDto, b: LobbyListItemDto): number {
+    return a.name.localeCompare(b.name) || a.lobbyId.localeCompare(b.lobbyId);
+}
+
+function applyDelta(lobbies: LobbyListItemDto[], delta: LobbyListDeltaDto): LobbyListItemDto[] {
+    switch (delta.type) {
+        case "created":
+            if (!delta.lobby) return lobbies;
+            return [...lobbies.filter((l) => l.lobbyId !== delta.lobbyId), delta.lobby].sort(byName);
+        case "playersCount":
+            return lobbies.map((l) =>
+                l.lobbyId === delta.lobbyId ? { ...l, playersCount: delta.playersCount ?? l.playersCount } : l);
+        case "status":
+            return lobbies.map((l) => (l.lobbyId === delta.lobbyId ? { ...l, status: delta.status ?? l.status } : l));
+        case "deleted":
+            return lobbies.filter((l) => l.lobbyId !== delta.lobbyId);
+        default:
+            return lobbies;
+    }
+}
+
+/**
+ * Live lobby list: one snapshot on subscribe, then small deltas for every change.
+ * A delta that skips a version means one was missed; the client subscribes again for a fresh snapshot.
+ */
+export function useLobbyListFeed(token: string | null): LobbyListFeed {
+    const [lobbies, setLobbies] = useState<LobbyListItemDto[] | null>(null);
+    const [isConnected, setIsConnected] = useState(false);
+
+    useEffect(() => {
+        if (!token) {
+            setLobbies(null);
+            setIsConnected(false);
+            return;
+        }
+
+        const socket = io(SOCKET_URL, {
+            query: { token },
+            autoConnect: true,
+        });
+        let version: number | null = null;
+        let current: LobbyListItemDto[] = [];
+
+        const subscribe = () => socket.emit("subscribeLobbyList", "");
+
+        socket.on("connect", () => {
+            setIsConnected(true);
+            // also after a reconnect: deltas sent in between are lost, so start from a new snapshot
+            version = null;
+            subscribe();
+        });
+
+        socket.on("disconnect", () => setIsConnected(false));
+
+        socket.on("lobbyListSnapshot", (snapshot: LobbyListSnapshotDto) => {
+            version = snapshot.version;
+            current = [...snapshot.lobbies];
+            setLobbies(current);
+        });
+
+        socket.on("lobbyListDelta", (delta: LobbyListDeltaDto) => {
+            // no snapshot yet, or an old delta that is already part of the snapshot
+            if (version === null || delta.version <= version) return;
+            if (delta.version !== version + 1) {
+                version = null;
+                subscribe();
+                return;
+            }
+            version = delta.version;
+            current = applyDelta(current, delta);
+            setLobbies(current);
+        });
+
+        return () => {
+            socket.emit("unsubscribeLobbyList", "");
+            socket.disconnect();
+        };
+    }, [token]);
+
+    return { lobbies, isConnected };
+}
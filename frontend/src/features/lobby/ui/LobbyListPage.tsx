@@ -19,6 +19,7 @@ import { LobbyCard } from "./components/LobbyCard";
 import { JoinLobbyModal } from "./modals/JoinLobbyModal";
 import { CreateLobbyModal } from "./modals/CreateLobbyModal";
 import {useLobbyRuntimeStore} from "@/features/lobby/lobbyRuntimeStore";
+import { useLobbyListFeed } from "@/features/lobby/hooks/useLobbyListFeed";
 
 type JoinTarget = {
     lobbyId: string;
@@ -31,7 +32,10 @@ export function LobbyListPage() {
 
     const token = session?.token ?? null;
 
-    const [lobbies, setLobbies] = useState<LobbyListItemDto[]>([]);
+    const [loadedLobbies, setLobbies] = useState<LobbyListItemDto[]>([]);
+    // once subscribed, the pushed list replaces the one loaded via REST and stays current without refreshing
+    const feed = useLobbyListFeed(token);
+    const lobbies = feed.lobbies ?? loadedLobbies;
     const [themes, setThemesState] = useState<ThemeDto[]>([]);
 
     const [isLoading, setIsLoading] = useState(false);